@@ -0,0 +1,41 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Random;
+
+// Month-end run: renders one report per warehouse/SKU pair to a file and prints per-report timing.
+public class BatchReportBenchmark {
+    public static void main(String[] args) throws IOException {
+        int skus = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Path output = args.length > 2 ? Path.of(args[2]) : Files.createTempFile("stock-reports", ".txt");
+
+        LocalDate monthStart = LocalDate.of(2026, 1, 1);
+        Supplier[] masters = {
+            new Supplier(1, monthStart, monthStart, "Main", "Kigali", "0780000000", "General", "GEN", "Acme", "sales@acme.com", "0780000001"),
+            new Supplier(2, monthStart, monthStart, "North", "Musanze", "0780000002", "Hardware", "HRD", "Bolt Ltd", "info@bolt.com", "0780000003"),
+            new Supplier(3, monthStart, monthStart, "South", "Huye", "0780000004", "Grocery", "GRO", "Fresh Co", "orders@fresh.com", "0780000005")
+        };
+        InventoryStore store = new InventoryStore(skus);
+        for (int i = 1; i <= skus; i++) store.add(masters[i % masters.length], i, "Product " + i, 0.99 + i % 250, 10_000, i % 900, 50);
+        SalesIndex sales = new SalesIndex(store, monthStart, 31);
+        Random random = new Random(7);
+        for (int i = 0; i < skus * 4; i++) sales.record(random.nextInt(skus), monthStart.plusDays(random.nextInt(31)), 1 + random.nextInt(10));
+
+        int[] order = new int[skus];
+        for (int sku = 0; sku < skus; sku++) order[sku] = sku;
+        ReportRenderer renderer = new ReportRenderer(store, sales, monthStart, monthStart.plusDays(30), parallelism, 4_096);
+        RenderStats stats;
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            stats = renderer.render(order, out);
+        }
+        System.out.println("=== Batch Report Benchmark ===");
+        System.out.println("Output: " + output);
+        System.out.println("Threads: " + parallelism);
+        System.out.println(stats.summary());
+        System.out.println("Sample: " + renderer.generateReport(0));
+    }
+}
@@ -0,0 +1,109 @@
+import java.time.LocalDate;
+import java.util.*;
+
+// Feeds DemandForecaster a random sale stream (gap days, late sales, SKUs registered after it
+// was built) and checks its mean, deviation and suggested reorder level for every SKU against a
+// direct computation: the daily totals it should have folded, weighted explicitly. Then times
+// record() on a larger stream.
+public class DemandForecastBenchmark {
+    private static final double ALPHA = 0.2;
+    private static final double SERVICE_FACTOR = 1.65;
+    private static final int MAX_GAP_DAYS = 90;
+    private static final int LEAD_TIME_DAYS = 7;
+
+    public static void main(String[] args) {
+        int skus = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int checkedSales = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int timedSales = args.length > 2 ? Integer.parseInt(args[2]) : 20_000_000;
+
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        Supplier master = new Supplier(1, start, start, "Main", "Kigali", "0780000000", "General", "GEN", "Acme", "sales@acme.com", "0780000001");
+        InventoryStore store = new InventoryStore(skus);
+        for (int i = 1; i <= skus / 2; i++) store.add(master, i, "Product " + i, 5.0, 10_000, 500, 50);
+        DemandForecaster forecaster = new DemandForecaster(store, ALPHA, SERVICE_FACTOR);
+        // The second half is registered afterwards: half tracked explicitly, half on first sale.
+        for (int i = skus / 2 + 1; i <= skus; i++) {
+            int sku = store.add(master, i, "Product " + i, 5.0, 10_000, 500, 50);
+            if (i % 2 == 0) forecaster.track(sku);
+        }
+
+        // Reference state: the day being accumulated and every daily total folded so far.
+        long[] day = new long[skus];
+        long[] units = new long[skus];
+        List<List<Long>> folded = new ArrayList<>(skus);
+        for (int sku = 0; sku < skus; sku++) folded.add(new ArrayList<>());
+        Arrays.fill(day, Long.MIN_VALUE);
+        Random random = new Random(11);
+        long[] clock = new long[skus];
+        for (int i = 0; i < checkedSales; i++) {
+            int sku = random.nextInt(skus);
+            // Mostly the same or next day, sometimes a long gap, sometimes a late sale for an earlier day.
+            int step = random.nextInt(100);
+            clock[sku] += step < 60 ? 0 : step < 90 ? 1 : step < 97 ? 2 + random.nextInt(150) : -1 - random.nextInt(3);
+            long saleDay = start.toEpochDay() + Math.max(0, clock[sku]);
+            int quantity = 1 + random.nextInt(20);
+            forecaster.record(sku, LocalDate.ofEpochDay(saleDay), quantity);
+            if (day[sku] == Long.MIN_VALUE) {
+                day[sku] = saleDay;
+            } else if (saleDay > day[sku]) {
+                folded.get(sku).add(units[sku]);
+                for (long gap = Math.min(MAX_GAP_DAYS, saleDay - day[sku] - 1); gap > 0; gap--) folded.get(sku).add(0L);
+                day[sku] = saleDay;
+                units[sku] = 0;
+            }
+            units[sku] += quantity;
+        }
+
+        int checkedSkus = 0;
+        for (int sku = 0; sku < skus; sku++) {
+            double[] expected = weightedMeanAndVariance(folded.get(sku));
+            double mean = forecaster.forecastDailyDemand(sku), deviation = forecaster.demandStandardDeviation(sku);
+            if (!close(mean, expected[0]) || !close(deviation, Math.sqrt(expected[1])))
+                throw new IllegalStateException("SKU " + sku + ": forecaster mean/sd " + mean + "/" + deviation + ", direct " + expected[0] + "/" + Math.sqrt(expected[1]));
+            double level = expected[0] * LEAD_TIME_DAYS + SERVICE_FACTOR * Math.sqrt(expected[1] * LEAD_TIME_DAYS);
+            int suggested = forecaster.suggestReorderLevel(sku, LEAD_TIME_DAYS);
+            // Rounding may differ only when the direct level lands on a whole number.
+            if (suggested != (int) Math.ceil(level) && Math.abs(level - Math.rint(level)) > 1e-6)
+                throw new IllegalStateException("SKU " + sku + ": suggested " + suggested + ", direct " + level);
+            checkedSkus++;
+        }
+
+        DemandForecaster timed = new DemandForecaster(store, ALPHA, SERVICE_FACTOR);
+        int[] saleSku = new int[1 << 16];
+        LocalDate[] saleDate = new LocalDate[saleSku.length];
+        for (int i = 0; i < saleSku.length; i++) {
+            saleSku[i] = random.nextInt(skus);
+            saleDate[i] = start.plusDays(i * 365L / saleSku.length);
+        }
+        long began = System.nanoTime();
+        for (int i = 0; i < timedSales; i++) {
+            int k = i & (saleSku.length - 1);
+            timed.record(saleSku[k], saleDate[k], 1 + (i & 7));
+        }
+        long elapsed = System.nanoTime() - began;
+
+        System.out.println("=== Demand Forecast Benchmark ===");
+        System.out.println("SKUs: " + skus + " (" + (skus - skus / 2) + " registered after the forecaster), Alpha: " + ALPHA + ", Service factor: " + SERVICE_FACTOR);
+        System.out.println("Checked " + checkedSales + " sales: mean, deviation and reorder level match a direct computation for " + checkedSkus + " SKUs");
+        System.out.printf("Timed: %d sales in %.3f s (%.0f sales/sec, single thread)%n", timedSales, elapsed / 1e9, timedSales / (elapsed / 1e9));
+    }
+
+    // The recursive EWMA equals a weighted mean and variance with weights (1-a)^(n-1) for the
+    // first day and a(1-a)^(n-k) for day k, which sum to one.
+    private static double[] weightedMeanAndVariance(List<Long> days) {
+        int n = days.size();
+        if (n == 0) return new double[] {0, 0};
+        double[] weights = new double[n];
+        weights[0] = Math.pow(1 - ALPHA, n - 1);
+        for (int k = 1; k < n; k++) weights[k] = ALPHA * Math.pow(1 - ALPHA, n - 1 - k);
+        double mean = 0;
+        for (int k = 0; k < n; k++) mean += weights[k] * days.get(k);
+        double variance = 0;
+        for (int k = 0; k < n; k++) variance += weights[k] * (days.get(k) - mean) * (days.get(k) - mean);
+        return new double[] {mean, variance};
+    }
+
+    private static boolean close(double actual, double expected) {
+        return Math.abs(actual - expected) <= 1e-6 * Math.max(1, Math.abs(expected));
+    }
+}
@@ -0,0 +1,156 @@
+import java.time.LocalDate;
+import java.util.*;
+
+// Exponentially weighted moving average and variance of daily Sale.soldQuantity per SKU.
+// A sale adds to its SKU's current day; when a later day arrives the finished day (and any
+// empty days in between, up to MAX_GAP_DAYS) is folded into the averages, so each sale costs
+// O(1). Late sales for an earlier day count toward the current day.
+// SKUs added to the store later are picked up by track(sku) or their first sale.
+class DemandForecaster {
+    private static final long NO_DAY = Long.MIN_VALUE;
+    private static final int MAX_GAP_DAYS = 90;
+
+    // Per-SKU state, indexed by SKU; replaced by a larger copy, under every stripe lock, as the store grows.
+    private static final class Columns {
+        final long[] currentDay;
+        final long[] currentUnits;
+        final boolean[] seeded;
+        final double[] mean;
+        final double[] variance;
+
+        Columns(int skus) {
+            currentDay = new long[skus];
+            Arrays.fill(currentDay, NO_DAY);
+            currentUnits = new long[skus];
+            seeded = new boolean[skus];
+            mean = new double[skus];
+            variance = new double[skus];
+        }
+
+        Columns(Columns from, int skus) {
+            currentDay = Arrays.copyOf(from.currentDay, skus);
+            Arrays.fill(currentDay, from.currentDay.length, skus, NO_DAY);
+            currentUnits = Arrays.copyOf(from.currentUnits, skus);
+            seeded = Arrays.copyOf(from.seeded, skus);
+            mean = Arrays.copyOf(from.mean, skus);
+            variance = Arrays.copyOf(from.variance, skus);
+        }
+
+        int size() { return currentDay.length; }
+    }
+
+    private final InventoryStore store;
+    private final double alpha;
+    private final double serviceFactor;
+    private volatile Columns columns;
+    private final Object[] locks = new Object[64];
+
+    // serviceFactor is the safety-stock multiplier on the lead-time standard deviation (1.65 ~ 95%).
+    public DemandForecaster(InventoryStore store, double alpha, double serviceFactor) {
+        if (store == null) throw new IllegalArgumentException("Store cannot be null");
+        if (!(alpha > 0 && alpha <= 1)) throw new IllegalArgumentException("Alpha must be in (0, 1]");
+        if (serviceFactor < 0) throw new IllegalArgumentException("Service factor must be >= 0");
+        this.store = store;
+        this.alpha = alpha;
+        this.serviceFactor = serviceFactor;
+        this.columns = new Columns(store.size());
+        for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+    }
+
+    // Adds a SKU registered in the store after this forecaster was created.
+    public void track(int sku) {
+        check(sku);
+    }
+
+    public void record(Sale sale) {
+        int sku = store.skuOf(sale.getId());
+        if (sku < 0) throw new IllegalArgumentException("Unknown stock item ID: " + sale.getId());
+        record(sku, sale.getSaleDate(), sale.getSoldQuantity());
+    }
+
+    public void record(int sku, LocalDate saleDate, int soldQuantity) {
+        if (soldQuantity <= 0) throw new IllegalArgumentException("Sold quantity must be > 0");
+        if (saleDate == null) throw new IllegalArgumentException("Date cannot be null");
+        check(sku);
+        long day = saleDate.toEpochDay();
+        synchronized (locks[sku & (locks.length - 1)]) {
+            Columns c = columns;
+            if (c.currentDay[sku] == NO_DAY) {
+                c.currentDay[sku] = day;
+            } else if (day > c.currentDay[sku]) {
+                fold(c, sku, c.currentUnits[sku]);
+                long emptyDays = Math.min(MAX_GAP_DAYS, day - c.currentDay[sku] - 1);
+                for (long i = 0; i < emptyDays; i++) fold(c, sku, 0);
+                c.currentDay[sku] = day;
+                c.currentUnits[sku] = 0;
+            }
+            c.currentUnits[sku] += soldQuantity;
+        }
+    }
+
+    public double forecastDailyDemand(int sku) {
+        check(sku);
+        synchronized (locks[sku & (locks.length - 1)]) { return columns.mean[sku]; }
+    }
+
+    public double demandStandardDeviation(int sku) {
+        check(sku);
+        synchronized (locks[sku & (locks.length - 1)]) { return Math.sqrt(columns.variance[sku]); }
+    }
+
+    // Expected demand over the lead time plus safety stock.
+    public int suggestReorderLevel(int sku, int leadTimeDays) {
+        if (leadTimeDays <= 0) throw new IllegalArgumentException("Lead time must be > 0");
+        check(sku);
+        double demand, deviation;
+        synchronized (locks[sku & (locks.length - 1)]) {
+            Columns c = columns;
+            demand = c.mean[sku] * leadTimeDays;
+            deviation = Math.sqrt(c.variance[sku] * leadTimeDays);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.ceil(demand + serviceFactor * deviation));
+    }
+
+    // Writes the suggestion into the store and, if given, re-evaluates the SKU in the reorder index.
+    public int applySuggestedLevel(int sku, int leadTimeDays, ReorderIndex reorderIndex) {
+        int level = suggestReorderLevel(sku, leadTimeDays);
+        store.setReorderLevel(sku, level);
+        if (reorderIndex != null) reorderIndex.refresh(sku);
+        return level;
+    }
+
+    private void fold(Columns c, int sku, long units) {
+        if (!c.seeded[sku]) {
+            c.mean[sku] = units;
+            c.variance[sku] = 0;
+            c.seeded[sku] = true;
+            return;
+        }
+        double diff = units - c.mean[sku];
+        double increment = alpha * diff;
+        c.mean[sku] += increment;
+        c.variance[sku] = (1 - alpha) * (c.variance[sku] + diff * increment);
+    }
+
+    // Rejects SKUs the store does not have; grows the columns for SKUs added since.
+    private void check(int sku) {
+        if (sku < 0 || sku >= store.size()) throw new IllegalArgumentException("Unknown SKU: " + sku);
+        if (sku >= columns.size()) grow(sku);
+    }
+
+    private synchronized void grow(int sku) {
+        if (sku < columns.size()) return;
+        growLocked(0, Math.max(Math.max(sku + 1, store.size()), columns.size() * 2));
+    }
+
+    // Takes every stripe lock in order so no sale updates the columns being copied.
+    private void growLocked(int stripe, int capacity) {
+        if (stripe < locks.length) {
+            synchronized (locks[stripe]) {
+                growLocked(stripe + 1, capacity);
+            }
+            return;
+        }
+        columns = new Columns(columns, capacity);
+    }
+}
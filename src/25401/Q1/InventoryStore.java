@@ -0,0 +1,178 @@
+import java.time.LocalDate;
+import java.util.*;
+
+// Columnar (struct-of-arrays) SKU store. Hot numeric fields live in primitive arrays indexed
+// by a dense SKU number; warehouse/category/supplier data is held as MasterDataDictionary codes.
+class InventoryStore {
+    private int size;
+    private int[] ids;
+    private int[] quantityAvailable;
+    private int[] reorderLevel;
+    private double[] unitPrice;
+    private int[] stockLimit;
+    private String[] productName;
+    private int[] warehouseCode;
+    private int[] categoryCode;
+    private int[] supplierCode;
+    private long[] createdDay;
+    private long[] updatedDay;
+    private final MasterDataDictionary dictionary = new MasterDataDictionary();
+
+    // Open-addressing id -> sku map; slots hold sku + 1 so 0 means empty.
+    private int[] idSlots;
+    private int[] skuSlots;
+
+    public InventoryStore(int initialCapacity) {
+        if (initialCapacity <= 0) throw new IllegalArgumentException("Capacity must be > 0");
+        ids = new int[initialCapacity];
+        quantityAvailable = new int[initialCapacity];
+        reorderLevel = new int[initialCapacity];
+        unitPrice = new double[initialCapacity];
+        stockLimit = new int[initialCapacity];
+        productName = new String[initialCapacity];
+        warehouseCode = new int[initialCapacity];
+        categoryCode = new int[initialCapacity];
+        supplierCode = new int[initialCapacity];
+        createdDay = new long[initialCapacity];
+        updatedDay = new long[initialCapacity];
+        int slots = Integer.highestOneBit(Math.max(2, initialCapacity) * 2 - 1) * 2;
+        idSlots = new int[slots];
+        skuSlots = new int[slots];
+    }
+
+    public int add(Supplier master, int id, String productName, double unitPrice, int stockLimit, int quantityAvailable, int reorderLevel) {
+        if (master == null) throw new IllegalArgumentException("Master data cannot be null");
+        return add(master.getCreatedDate(), master.getUpdatedDate(), dictionary.encodeWarehouse(master.getWarehouseName(), master.getLocation(), master.getContactNumber()), dictionary.encodeCategory(master.getCategoryName(), master.getCategoryCode()), dictionary.encodeSupplier(master.getSupplierName(), master.getSupplierEmail(), master.getSupplierPhone()), id, productName, unitPrice, stockLimit, quantityAvailable, reorderLevel);
+    }
+
+    public int add(StockItem item) {
+        return add(item, item.getId(), item.getProductName(), item.getUnitPrice(), item.getStockLimit(), item.getQuantityAvailable(), item.getReorderLevel());
+    }
+
+    private int add(LocalDate createdDate, LocalDate updatedDate, int warehouse, int category, int supplier, int id, String productName, double unitPrice, int stockLimit, int quantityAvailable, int reorderLevel) {
+        if (id <= 0) throw new IllegalArgumentException("ID must be > 0");
+        if (unitPrice <= 0) throw new IllegalArgumentException("Unit price must be > 0");
+        if (stockLimit < 0) throw new IllegalArgumentException("Stock limit must be >= 0");
+        if (quantityAvailable < 0 || reorderLevel < 0) throw new IllegalArgumentException("Values must be >= 0");
+        if (skuOf(id) >= 0) throw new IllegalArgumentException("Duplicate ID: " + id);
+        if (size == ids.length) grow();
+        int sku = size++;
+        this.ids[sku] = id;
+        this.quantityAvailable[sku] = quantityAvailable;
+        this.reorderLevel[sku] = reorderLevel;
+        this.unitPrice[sku] = unitPrice;
+        this.stockLimit[sku] = stockLimit;
+        this.productName[sku] = productName;
+        this.warehouseCode[sku] = warehouse;
+        this.categoryCode[sku] = category;
+        this.supplierCode[sku] = supplier;
+        this.createdDay[sku] = createdDate.toEpochDay();
+        this.updatedDay[sku] = updatedDate.toEpochDay();
+        if (size * 2 > idSlots.length) rehash(idSlots.length * 2);
+        insertSlot(id, sku);
+        return sku;
+    }
+
+    public int size() { return size; }
+
+    public int skuOf(int id) {
+        int mask = idSlots.length - 1;
+        for (int i = mix(id) & mask; skuSlots[i] != 0; i = (i + 1) & mask) {
+            if (idSlots[i] == id) return skuSlots[i] - 1;
+        }
+        return -1;
+    }
+
+    public int getId(int sku) { return ids[check(sku)]; }
+    public int getQuantityAvailable(int sku) { return quantityAvailable[check(sku)]; }
+    public int getReorderLevel(int sku) { return reorderLevel[check(sku)]; }
+    public double getUnitPrice(int sku) { return unitPrice[check(sku)]; }
+    public int getStockLimit(int sku) { return stockLimit[check(sku)]; }
+    public String getProductName(int sku) { return productName[check(sku)]; }
+    public int getWarehouseCode(int sku) { return warehouseCode[check(sku)]; }
+    public int getCategoryCode(int sku) { return categoryCode[check(sku)]; }
+    public int getSupplierCode(int sku) { return supplierCode[check(sku)]; }
+    public MasterDataDictionary getDictionary() { return dictionary; }
+
+    public void setQuantityAvailable(int sku, int quantity) {
+        if (quantity < 0) throw new IllegalArgumentException("Values must be >= 0");
+        quantityAvailable[check(sku)] = quantity;
+    }
+
+    public void setReorderLevel(int sku, int level) {
+        if (level < 0) throw new IllegalArgumentException("Values must be >= 0");
+        reorderLevel[check(sku)] = level;
+    }
+
+    // Raw column access for engines that update quantities in place.
+    int[] quantityColumn() { return quantityAvailable; }
+    int[] stockLimitColumn() { return stockLimit; }
+
+    // Walks the two columns front to back; no per-SKU object is touched.
+    public double totalStockValue() {
+        int[] quantity = quantityAvailable;
+        double[] price = unitPrice;
+        double total = 0;
+        for (int i = 0; i < size; i++) total += quantity[i] * price[i];
+        return total;
+    }
+
+    public long totalItems() {
+        int[] quantity = quantityAvailable;
+        long total = 0;
+        for (int i = 0; i < size; i++) total += quantity[i];
+        return total;
+    }
+
+    public StockItem toStockItem(int sku) {
+        MasterDataDictionary d = dictionary;
+        int w = warehouseCode[check(sku)], c = categoryCode[sku], s = supplierCode[sku];
+        return new StockItem(ids[sku], LocalDate.ofEpochDay(createdDay[sku]), LocalDate.ofEpochDay(updatedDay[sku]), d.getWarehouseName(w), d.getLocation(w), d.getContactNumber(w), d.getCategoryName(c), d.getCategoryCode(c), d.getSupplierName(s), d.getSupplierEmail(s), d.getSupplierPhone(s), productName[sku], unitPrice[sku], stockLimit[sku], quantityAvailable[sku], reorderLevel[sku]);
+    }
+
+    public StockReport toStockReport(int sku, LocalDate purchaseDate, int purchasedQuantity, LocalDate saleDate, int soldQuantity, String customerName, LocalDate reportDate, String remarks) {
+        MasterDataDictionary d = dictionary;
+        int w = warehouseCode[check(sku)], c = categoryCode[sku], s = supplierCode[sku];
+        int quantity = quantityAvailable[sku];
+        return new StockReport(ids[sku], LocalDate.ofEpochDay(createdDay[sku]), LocalDate.ofEpochDay(updatedDay[sku]), d.getWarehouseName(w), d.getLocation(w), d.getContactNumber(w), d.getCategoryName(c), d.getCategoryCode(c), d.getSupplierName(s), d.getSupplierEmail(s), d.getSupplierPhone(s), productName[sku], unitPrice[sku], stockLimit[sku], quantity, reorderLevel[sku], purchaseDate, purchasedQuantity, d.getSupplierName(s), saleDate, soldQuantity, customerName, quantity, quantity * unitPrice[sku], reportDate, remarks);
+    }
+
+    private int check(int sku) {
+        if (sku < 0 || sku >= size) throw new IllegalArgumentException("Unknown SKU: " + sku);
+        return sku;
+    }
+
+    private void grow() {
+        int n = ids.length * 2;
+        ids = Arrays.copyOf(ids, n);
+        quantityAvailable = Arrays.copyOf(quantityAvailable, n);
+        reorderLevel = Arrays.copyOf(reorderLevel, n);
+        unitPrice = Arrays.copyOf(unitPrice, n);
+        stockLimit = Arrays.copyOf(stockLimit, n);
+        productName = Arrays.copyOf(productName, n);
+        warehouseCode = Arrays.copyOf(warehouseCode, n);
+        categoryCode = Arrays.copyOf(categoryCode, n);
+        supplierCode = Arrays.copyOf(supplierCode, n);
+        createdDay = Arrays.copyOf(createdDay, n);
+        updatedDay = Arrays.copyOf(updatedDay, n);
+    }
+
+    private void rehash(int slots) {
+        idSlots = new int[slots];
+        skuSlots = new int[slots];
+        for (int sku = 0; sku < size - 1; sku++) insertSlot(ids[sku], sku);
+    }
+
+    private void insertSlot(int id, int sku) {
+        int mask = idSlots.length - 1;
+        int i = mix(id) & mask;
+        while (skuSlots[i] != 0) i = (i + 1) & mask;
+        idSlots[i] = id;
+        skuSlots[i] = sku + 1;
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
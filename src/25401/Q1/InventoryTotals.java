@@ -0,0 +1,146 @@
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+// Running Inventory totals (total items and stock value) per warehouse, category and supplier.
+// Seeded with one scan of the store, then kept current by every accepted movement, so a
+// report costs O(groups). Stock value is accumulated in cents so concurrent updates stay exact.
+class InventoryTotals implements StockMovementListener {
+    enum Dimension { WAREHOUSE, CATEGORY, SUPPLIER }
+
+    static final class GroupTotals {
+        private final LongAdder totalItems = new LongAdder();
+        private final LongAdder stockValueCents = new LongAdder();
+
+        void add(long items, long valueCents) {
+            totalItems.add(items);
+            stockValueCents.add(valueCents);
+        }
+
+        public long getTotalItems() { return totalItems.sum(); }
+        public double getStockValue() { return stockValueCents.sum() / 100.0; }
+        long getStockValueCents() { return stockValueCents.sum(); }
+    }
+
+    private final InventoryStore store;
+    // Indexed by dimension ordinal, then by dictionary code; replaced wholesale when a new code appears.
+    private volatile GroupTotals[][] groups = new GroupTotals[Dimension.values().length][0];
+
+    public InventoryTotals(InventoryStore store) {
+        if (store == null) throw new IllegalArgumentException("Store cannot be null");
+        this.store = store;
+        for (int sku = 0; sku < store.size(); sku++) track(sku);
+    }
+
+    // Adds a SKU registered in the store after these totals were created.
+    public synchronized void track(int sku) {
+        GroupTotals[][] current = groups.clone();
+        for (Dimension dimension : Dimension.values()) {
+            GroupTotals[] totals = current[dimension.ordinal()];
+            int code = code(sku, dimension);
+            if (code >= totals.length) {
+                // Exactly one group per dictionary code, so every group has a label.
+                totals = Arrays.copyOf(totals, codeCount(dimension));
+                for (int i = 0; i < totals.length; i++) if (totals[i] == null) totals[i] = new GroupTotals();
+                current[dimension.ordinal()] = totals;
+            }
+        }
+        groups = current;
+        apply(sku, store.getQuantityAvailable(sku));
+    }
+
+    @Override
+    public void onMovement(int sku, int quantityBefore, int quantityAfter) {
+        apply(sku, quantityAfter - quantityBefore);
+    }
+
+    private void apply(int sku, int delta) {
+        long valueCents = delta * priceCents(store.getUnitPrice(sku));
+        GroupTotals[][] current = groups;
+        for (Dimension dimension : Dimension.values()) current[dimension.ordinal()][code(sku, dimension)].add(delta, valueCents);
+    }
+
+    public long getTotalItems(Dimension dimension, int code) {
+        GroupTotals[] totals = groups[dimension.ordinal()];
+        return code >= 0 && code < totals.length ? totals[code].getTotalItems() : 0;
+    }
+
+    public double getStockValue(Dimension dimension, int code) {
+        GroupTotals[] totals = groups[dimension.ordinal()];
+        return code >= 0 && code < totals.length ? totals[code].getStockValue() : 0;
+    }
+
+    // Sums every group whose label (warehouse name, category code, supplier name) matches.
+    public long getTotalItems(Dimension dimension, String label) {
+        long total = 0;
+        GroupTotals[] totals = groups[dimension.ordinal()];
+        for (int code = 0; code < totals.length; code++) if (label(code, dimension).equals(label)) total += totals[code].getTotalItems();
+        return total;
+    }
+
+    public double getStockValue(Dimension dimension, String label) {
+        long cents = 0;
+        GroupTotals[] totals = groups[dimension.ordinal()];
+        for (int code = 0; code < totals.length; code++) if (label(code, dimension).equals(label)) cents += totals[code].getStockValueCents();
+        return cents / 100.0;
+    }
+
+    public String generateReport(Dimension dimension) {
+        StringBuilder report = new StringBuilder("Inventory by " + dimension.name().toLowerCase() + ":");
+        GroupTotals[] totals = groups[dimension.ordinal()];
+        for (int code = 0; code < totals.length; code++) {
+            report.append("\n").append(label(code, dimension))
+                  .append(" - Total Items: ").append(totals[code].getTotalItems())
+                  .append(", Stock Value: $").append(totals[code].getStockValue());
+        }
+        return report.toString();
+    }
+
+    // Full scan of the store; the running totals must equal this once movements are quiescent.
+    public boolean matchesRecount() {
+        for (Dimension dimension : Dimension.values()) {
+            GroupTotals[] totals = groups[dimension.ordinal()];
+            long[] items = new long[totals.length];
+            long[] cents = new long[totals.length];
+            for (int sku = 0; sku < store.size(); sku++) {
+                int code = code(sku, dimension);
+                int quantity = store.getQuantityAvailable(sku);
+                items[code] += quantity;
+                cents[code] += quantity * priceCents(store.getUnitPrice(sku));
+            }
+            for (int code = 0; code < totals.length; code++) {
+                if (items[code] != totals[code].getTotalItems() || cents[code] != totals[code].getStockValueCents()) return false;
+            }
+        }
+        return true;
+    }
+
+    private static long priceCents(double unitPrice) {
+        return Math.round(unitPrice * 100);
+    }
+
+    private int code(int sku, Dimension dimension) {
+        switch (dimension) {
+            case WAREHOUSE: return store.getWarehouseCode(sku);
+            case CATEGORY: return store.getCategoryCode(sku);
+            default: return store.getSupplierCode(sku);
+        }
+    }
+
+    private int codeCount(Dimension dimension) {
+        MasterDataDictionary dictionary = store.getDictionary();
+        switch (dimension) {
+            case WAREHOUSE: return dictionary.warehouseCount();
+            case CATEGORY: return dictionary.categoryCount();
+            default: return dictionary.supplierCount();
+        }
+    }
+
+    private String label(int code, Dimension dimension) {
+        MasterDataDictionary dictionary = store.getDictionary();
+        switch (dimension) {
+            case WAREHOUSE: return dictionary.getWarehouseName(code);
+            case CATEGORY: return dictionary.getCategoryCode(code);
+            default: return dictionary.getSupplierName(code);
+        }
+    }
+}
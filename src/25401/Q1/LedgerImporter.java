@@ -0,0 +1,438 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Bulk import of nightly ledger dumps. One row per line, comma separated:
+//   I,id,quantityAvailable,reorderLevel,unitPrice,stockLimit   (StockItem)
+//   P,id,yyyy-MM-dd,purchasedQuantity                           (Purchase)
+//   S,id,yyyy-MM-dd,soldQuantity                                (Sale)
+// Rows that the StockItem/Purchase/Sale constructors would reject are counted, not thrown.
+class LedgerChunk {
+    int[] itemIds = new int[64];
+    int[] itemQuantities = new int[64];
+    int[] itemReorderLevels = new int[64];
+    double[] itemUnitPrices = new double[64];
+    int[] itemStockLimits = new int[64];
+    int itemCount;
+
+    int[] purchaseIds = new int[64];
+    long[] purchaseDays = new long[64];
+    int[] purchaseQuantities = new int[64];
+    int purchaseCount;
+
+    int[] saleIds = new int[64];
+    long[] saleDays = new long[64];
+    int[] saleQuantities = new int[64];
+    int saleCount;
+
+    long rejectedRows;
+
+    void addItem(int id, int quantityAvailable, int reorderLevel, double unitPrice, int stockLimit) {
+        if (itemCount == itemIds.length) {
+            int n = itemCount * 2;
+            itemIds = Arrays.copyOf(itemIds, n);
+            itemQuantities = Arrays.copyOf(itemQuantities, n);
+            itemReorderLevels = Arrays.copyOf(itemReorderLevels, n);
+            itemUnitPrices = Arrays.copyOf(itemUnitPrices, n);
+            itemStockLimits = Arrays.copyOf(itemStockLimits, n);
+        }
+        itemIds[itemCount] = id;
+        itemQuantities[itemCount] = quantityAvailable;
+        itemReorderLevels[itemCount] = reorderLevel;
+        itemUnitPrices[itemCount] = unitPrice;
+        itemStockLimits[itemCount] = stockLimit;
+        itemCount++;
+    }
+
+    void addPurchase(int id, long epochDay, int quantity) {
+        if (purchaseCount == purchaseIds.length) {
+            int n = purchaseCount * 2;
+            purchaseIds = Arrays.copyOf(purchaseIds, n);
+            purchaseDays = Arrays.copyOf(purchaseDays, n);
+            purchaseQuantities = Arrays.copyOf(purchaseQuantities, n);
+        }
+        purchaseIds[purchaseCount] = id;
+        purchaseDays[purchaseCount] = epochDay;
+        purchaseQuantities[purchaseCount] = quantity;
+        purchaseCount++;
+    }
+
+    void addSale(int id, long epochDay, int quantity) {
+        if (saleCount == saleIds.length) {
+            int n = saleCount * 2;
+            saleIds = Arrays.copyOf(saleIds, n);
+            saleDays = Arrays.copyOf(saleDays, n);
+            saleQuantities = Arrays.copyOf(saleQuantities, n);
+        }
+        saleIds[saleCount] = id;
+        saleDays[saleCount] = epochDay;
+        saleQuantities[saleCount] = quantity;
+        saleCount++;
+    }
+
+    long rowCount() { return itemCount + purchaseCount + saleCount + rejectedRows; }
+}
+
+// What loading parsed chunks into an InventoryStore did.
+class LedgerLoad {
+    long items;
+    long duplicateItems;
+    long movementsApplied;
+    long movementsRejected;
+}
+
+class LedgerImporter {
+    private static final long MAX_CHUNK_BYTES = 64L << 20;
+
+    private final int parallelism;
+
+    public LedgerImporter(int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be > 0");
+        this.parallelism = parallelism;
+    }
+
+    // Parses the file in newline-aligned chunks, at most `parallelism` at a time.
+    public List<LedgerChunk> importFile(Path file) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            List<ForkJoinTask<LedgerChunk>> tasks = new ArrayList<>(bounds.length - 1);
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                int chunk = i;
+                tasks.add(pool.submit(() -> parse(channel.map(FileChannel.MapMode.READ_ONLY, bounds[chunk], bounds[chunk + 1] - bounds[chunk]))));
+            }
+            List<LedgerChunk> chunks = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<LedgerChunk> task : tasks) chunks.add(join(task));
+            return chunks;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Adds every parsed StockItem row to the store under the given master data, named by id.
+    // InventoryStore is single-writer, so this runs on the calling thread; a repeated id is
+    // counted, not added. Register SKU-tracking listeners after this and before movements.
+    public LedgerLoad loadItems(List<LedgerChunk> chunks, InventoryStore store, Supplier master) {
+        LedgerLoad load = new LedgerLoad();
+        for (LedgerChunk chunk : chunks) {
+            for (int i = 0; i < chunk.itemCount; i++) {
+                int id = chunk.itemIds[i];
+                if (store.skuOf(id) >= 0) {
+                    load.duplicateItems++;
+                    continue;
+                }
+                store.add(master, id, "Item " + id, chunk.itemUnitPrices[i], chunk.itemStockLimits[i], chunk.itemQuantities[i], chunk.itemReorderLevels[i]);
+                load.items++;
+            }
+        }
+        return load;
+    }
+
+    // Applies every parsed Purchase and Sale through the engine, so limits are enforced and
+    // listeners see each movement. A SKU's movements run in date order, purchases before sales
+    // on the same day; different SKUs are independent and are applied in parallel.
+    public void applyMovements(List<LedgerChunk> chunks, InventoryStore store, StockReservationEngine engine, LedgerLoad load) {
+        int skus = store.size();
+        long minDay = Long.MAX_VALUE;
+        for (LedgerChunk chunk : chunks) {
+            for (int i = 0; i < chunk.purchaseCount; i++) minDay = Math.min(minDay, chunk.purchaseDays[i]);
+            for (int i = 0; i < chunk.saleCount; i++) minDay = Math.min(minDay, chunk.saleDays[i]);
+        }
+        // Counting sort by SKU; each movement packs (day offset, sale flag, quantity) into a long
+        // whose natural order is the order to apply it in.
+        int[] start = new int[skus + 1];
+        for (LedgerChunk chunk : chunks) {
+            for (int i = 0; i < chunk.purchaseCount; i++) countMovement(store, chunk.purchaseIds[i], start, load);
+            for (int i = 0; i < chunk.saleCount; i++) countMovement(store, chunk.saleIds[i], start, load);
+        }
+        for (int sku = 0; sku < skus; sku++) start[sku + 1] += start[sku];
+        long[] movements = new long[start[skus]];
+        int[] fill = Arrays.copyOf(start, skus);
+        for (LedgerChunk chunk : chunks) {
+            for (int i = 0; i < chunk.purchaseCount; i++) {
+                int sku = store.skuOf(chunk.purchaseIds[i]);
+                if (sku >= 0) movements[fill[sku]++] = (chunk.purchaseDays[i] - minDay) << 32 | chunk.purchaseQuantities[i];
+            }
+            for (int i = 0; i < chunk.saleCount; i++) {
+                int sku = store.skuOf(chunk.saleIds[i]);
+                if (sku >= 0) movements[fill[sku]++] = (chunk.saleDays[i] - minDay) << 32 | 1L << 31 | chunk.saleQuantities[i];
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int ranges = Math.max(1, Math.min(skus, parallelism * 8));
+            List<ForkJoinTask<long[]>> tasks = new ArrayList<>(ranges);
+            for (int r = 0; r < ranges; r++) {
+                int from = (int) ((long) skus * r / ranges), to = (int) ((long) skus * (r + 1) / ranges);
+                tasks.add(pool.submit(() -> applyRange(engine, movements, start, from, to)));
+            }
+            for (ForkJoinTask<long[]> task : tasks) {
+                long[] counts = join(task);
+                load.movementsApplied += counts[0];
+                load.movementsRejected += counts[1];
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void countMovement(InventoryStore store, int id, int[] start, LedgerLoad load) {
+        int sku = store.skuOf(id);
+        if (sku >= 0) start[sku + 1]++;
+        else load.movementsRejected++;
+    }
+
+    private static long[] applyRange(StockReservationEngine engine, long[] movements, int[] start, int from, int to) {
+        long applied = 0, rejected = 0;
+        for (int sku = from; sku < to; sku++) {
+            Arrays.sort(movements, start[sku], start[sku + 1]);
+            for (int m = start[sku]; m < start[sku + 1]; m++) {
+                long movement = movements[m];
+                int quantity = (int) (movement & Integer.MAX_VALUE);
+                boolean ok = (movement & 1L << 31) != 0 ? engine.recordSale(sku, quantity) : engine.recordPurchase(sku, quantity);
+                if (ok) applied++;
+                else rejected++;
+            }
+        }
+        return new long[] {applied, rejected};
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) {
+        try {
+            return task.join();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Ledger import task failed", e);
+        }
+    }
+
+    // Splits the file into roughly equal ranges that each end just after a newline.
+    private long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long target = Math.max(1, Math.min(MAX_CHUNK_BYTES, (size + parallelism * 4L - 1) / (parallelism * 4L)));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long position = 0;
+        while (position < size) {
+            long next = Math.min(size, position + target);
+            if (next < size) next = nextLineStart(channel, next, size);
+            bounds.add(next);
+            position = next;
+        }
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        while (position < size) {
+            MappedByteBuffer probe = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(4096, size - position));
+            while (probe.hasRemaining()) {
+                if (probe.get() == '\n') return position + probe.position();
+            }
+            position += probe.limit();
+        }
+        return size;
+    }
+
+    static LedgerChunk parse(MappedByteBuffer buffer) {
+        LedgerChunk chunk = new LedgerChunk();
+        int limit = buffer.limit();
+        int pos = 0;
+        while (pos < limit) {
+            int end = pos;
+            while (end < limit && buffer.get(end) != '\n') end++;
+            int lineEnd = end > pos && buffer.get(end - 1) == '\r' ? end - 1 : end;
+            if (lineEnd > pos && !parseRow(buffer, pos, lineEnd, chunk)) chunk.rejectedRows++;
+            pos = end + 1;
+        }
+        return chunk;
+    }
+
+    private static boolean parseRow(MappedByteBuffer buffer, int start, int end, LedgerChunk chunk) {
+        byte type = buffer.get(start);
+        if (start + 1 >= end || buffer.get(start + 1) != ',') return false;
+        int[] cursor = {start + 2};
+        long id = parseLong(buffer, cursor, end);
+        if (id <= 0 || id > Integer.MAX_VALUE) return false;
+        switch (type) {
+            case 'I': {
+                long quantity = parseLong(buffer, cursor, end);
+                long reorderLevel = parseLong(buffer, cursor, end);
+                double unitPrice = parseDouble(buffer, cursor, end);
+                long stockLimit = parseLong(buffer, cursor, end);
+                if (cursor[0] != end + 1) return false;
+                if (quantity < 0 || quantity > Integer.MAX_VALUE || reorderLevel < 0 || reorderLevel > Integer.MAX_VALUE) return false;
+                if (!(unitPrice > 0) || stockLimit < 0 || stockLimit > Integer.MAX_VALUE) return false;
+                chunk.addItem((int) id, (int) quantity, (int) reorderLevel, unitPrice, (int) stockLimit);
+                return true;
+            }
+            case 'P':
+            case 'S': {
+                long epochDay = parseDate(buffer, cursor, end);
+                long quantity = parseLong(buffer, cursor, end);
+                if (cursor[0] != end + 1 || epochDay == Long.MIN_VALUE) return false;
+                if (quantity <= 0 || quantity > Integer.MAX_VALUE) return false;
+                if (type == 'P') chunk.addPurchase((int) id, epochDay, (int) quantity);
+                else chunk.addSale((int) id, epochDay, (int) quantity);
+                return true;
+            }
+            default:
+                return false;
+        }
+    }
+
+    // Field parsers read up to the next comma (or end) and leave cursor[0] just past it.
+    // A malformed field yields a value the row validation rejects (-1 / NaN / MIN_VALUE).
+    private static long parseLong(MappedByteBuffer buffer, int[] cursor, int end) {
+        int pos = cursor[0];
+        boolean negative = pos < end && buffer.get(pos) == '-';
+        if (negative) pos++;
+        long value = 0;
+        int digits = 0;
+        while (pos < end && buffer.get(pos) != ',') {
+            int d = buffer.get(pos) - '0';
+            if (d < 0 || d > 9 || ++digits > 18) { cursor[0] = skipField(buffer, pos, end); return -1; }
+            value = value * 10 + d;
+            pos++;
+        }
+        cursor[0] = pos + 1;
+        if (digits == 0) return -1;
+        return negative ? -value : value;
+    }
+
+    private static double parseDouble(MappedByteBuffer buffer, int[] cursor, int end) {
+        int start = cursor[0];
+        int pos = start;
+        boolean negative = pos < end && buffer.get(pos) == '-';
+        if (negative) pos++;
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        while (pos < end && buffer.get(pos) != ',') {
+            byte b = buffer.get(pos);
+            if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fractionDigits >= 0) fractionDigits++;
+            } else {
+                cursor[0] = skipField(buffer, pos, end);
+                return Double.NaN;
+            }
+            pos++;
+        }
+        cursor[0] = pos + 1;
+        if (digits == 0) return Double.NaN;
+        if (digits > 15) {
+            byte[] text = new byte[pos - start];
+            for (int i = 0; i < text.length; i++) text[i] = buffer.get(start + i);
+            return Double.parseDouble(new String(text, java.nio.charset.StandardCharsets.US_ASCII));
+        }
+        // Both operands are exact doubles, so the single division is correctly rounded.
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+    private static long parseDate(MappedByteBuffer buffer, int[] cursor, int end) {
+        int pos = cursor[0];
+        if (pos + 10 > end || buffer.get(pos + 4) != '-' || buffer.get(pos + 7) != '-' || (pos + 10 < end && buffer.get(pos + 10) != ',')) {
+            cursor[0] = skipField(buffer, pos, end);
+            return Long.MIN_VALUE;
+        }
+        int year = digits(buffer, pos, 4);
+        int month = digits(buffer, pos + 5, 2);
+        int day = digits(buffer, pos + 8, 2);
+        cursor[0] = pos + 11;
+        if (year < 0 || month < 0 || day < 0) return Long.MIN_VALUE;
+        try {
+            return LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static int digits(MappedByteBuffer buffer, int pos, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int d = buffer.get(pos + i) - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static int skipField(MappedByteBuffer buffer, int pos, int end) {
+        while (pos < end && buffer.get(pos) != ',') pos++;
+        return pos + 1;
+    }
+
+    static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    static long peakHeapUsed() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    public static void run(Path file) throws IOException {
+        System.out.println("=== Bulk Ledger Import ===");
+        System.out.println("File: " + file);
+        resetPeakHeap();
+        long start = System.nanoTime();
+        LedgerImporter importer = new LedgerImporter(Runtime.getRuntime().availableProcessors());
+        List<LedgerChunk> chunks = importer.importFile(file);
+        long parsed = System.nanoTime() - start;
+
+        LocalDate today = LocalDate.now();
+        Supplier master = new Supplier(1, today, today, "Imported", "Unknown", "0000000000", "Imported", "IMP", "Ledger Import", "import@ledger.local", "0000000000");
+        int capacity = 0;
+        for (LedgerChunk chunk : chunks) capacity += chunk.itemCount;
+        InventoryStore store = new InventoryStore(Math.max(1, capacity));
+        StockReservationEngine engine = new StockReservationEngine(store);
+        LedgerLoad load = importer.loadItems(chunks, store, master);
+        importer.applyMovements(chunks, store, engine, load);
+        long elapsed = System.nanoTime() - start;
+
+        long rows = 0, items = 0, purchases = 0, sales = 0, rejected = 0;
+        for (LedgerChunk chunk : chunks) {
+            rows += chunk.rowCount();
+            items += chunk.itemCount;
+            purchases += chunk.purchaseCount;
+            sales += chunk.saleCount;
+            rejected += chunk.rejectedRows;
+        }
+        double seconds = elapsed / 1e9;
+
+        System.out.println("Chunks: " + chunks.size());
+        System.out.println("Stock Items: " + items);
+        System.out.println("Purchases: " + purchases);
+        System.out.println("Sales: " + sales);
+        System.out.println("Rejected Rows: " + rejected);
+        System.out.println("Loaded SKUs: " + load.items + " (duplicates skipped: " + load.duplicateItems + ")");
+        System.out.println("Movements Applied: " + load.movementsApplied + ", Rejected: " + load.movementsRejected);
+        System.out.println("Total Items: " + store.totalItems() + ", Stock Value: $" + store.totalStockValue());
+        System.out.printf("Parse: %.3f s, Elapsed: %.3f s%n", parsed / 1e9, seconds);
+        System.out.printf("Rows/sec: %.0f%n", seconds > 0 ? rows / seconds : 0.0);
+        System.out.printf("Peak Heap Used: %.1f MB%n", peakHeapUsed() / (1024.0 * 1024.0));
+    }
+}
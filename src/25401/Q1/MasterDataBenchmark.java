@@ -0,0 +1,66 @@
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.*;
+
+// Heap footprint of SKUs carrying their own master-data Strings versus dictionary-encoded
+// SKUs in InventoryStore, plus a warehouse filter done by String and by int code.
+public class MasterDataBenchmark {
+    public static void main(String[] args) {
+        int skus = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int warehouses = 50, categories = 200, suppliers = 1_000;
+
+        long baseline = usedHeap();
+        List<StockItem> items = new ArrayList<>(skus);
+        for (int i = 1; i <= skus; i++) items.add(item(i, warehouses, categories, suppliers));
+        long objectHeap = usedHeap() - baseline;
+
+        String target = "Warehouse 7";
+        long start = System.nanoTime();
+        int stringMatches = 0;
+        for (StockItem item : items) if (item.getWarehouseName().equals(target)) stringMatches++;
+        long stringFilter = System.nanoTime() - start;
+        items = null;
+
+        baseline = usedHeap();
+        InventoryStore store = new InventoryStore(skus);
+        for (int i = 1; i <= skus; i++) store.add(item(i, warehouses, categories, suppliers));
+        long encodedHeap = usedHeap() - baseline;
+
+        // Resolve the same warehouse name to its code once, then filter by int.
+        MasterDataDictionary dictionary = store.getDictionary();
+        int targetCode = -1;
+        for (int code = 0; code < dictionary.warehouseCount(); code++) if (dictionary.getWarehouseName(code).equals(target)) targetCode = code;
+        start = System.nanoTime();
+        int codeMatches = 0;
+        for (int sku = 0; sku < store.size(); sku++) if (store.getWarehouseCode(sku) == targetCode) codeMatches++;
+        long codeFilter = System.nanoTime() - start;
+        if (codeMatches != stringMatches)
+            throw new IllegalStateException("Filter mismatch: " + stringMatches + " by String, " + codeMatches + " by code");
+
+        System.out.println("=== Master Data Dictionary Benchmark ===");
+        System.out.println("SKUs: " + skus);
+        System.out.println("Distinct Warehouses: " + dictionary.warehouseCount() + ", Categories: " + dictionary.categoryCount() + ", Suppliers: " + dictionary.supplierCount());
+        System.out.println("Distinct Strings: " + dictionary.distinctValues());
+        System.out.printf("StockItem objects: %.1f MB (%d bytes/SKU)%n", objectHeap / 1048576.0, objectHeap / skus);
+        System.out.printf("Encoded store: %.1f MB (%d bytes/SKU)%n", encodedHeap / 1048576.0, encodedHeap / skus);
+        System.out.printf("Heap saving: %.1f%%%n", 100.0 * (objectHeap - encodedHeap) / objectHeap);
+        System.out.printf("Filter by String: %d matches in %.2f ms%n", stringMatches, stringFilter / 1e6);
+        System.out.printf("Filter by code: %d matches in %.2f ms%n", codeMatches, codeFilter / 1e6);
+    }
+
+    // Each field is a fresh String, as it would be after reading from Scanner or a file.
+    private static StockItem item(int id, int warehouses, int categories, int suppliers) {
+        LocalDate now = LocalDate.of(2026, 1, 1);
+        int w = id % warehouses, c = id % categories, s = id % suppliers;
+        return new StockItem(id, now, now,
+                new String("Warehouse " + w), new String("Location " + w), new String(String.format("078%07d", w)),
+                new String("Category " + c), new String("CAT" + c), new String("Supplier " + s),
+                new String("supplier" + s + "@mail.com"), new String(String.format("079%07d", s)),
+                "Product " + id, 1 + id % 100, 10_000, id % 500, 20);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
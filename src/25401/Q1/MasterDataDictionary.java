@@ -0,0 +1,77 @@
+import java.util.*;
+
+// Dictionary encoding for warehouse, category and supplier master data. Each distinct string
+// is stored once and each distinct warehouse/category/supplier gets a small int code, so SKUs
+// carry three ints instead of eight String references and grouping compares ints.
+class MasterDataDictionary {
+    private record Key(int a, int b, int c) { }
+
+    private static final class Table {
+        private final Map<Key, Integer> codes = new HashMap<>();
+        private int[][] fields;
+        private int size;
+
+        Table(int arity) { fields = new int[arity][16]; }
+
+        int encode(int a, int b, int c) {
+            Integer code = codes.get(new Key(a, b, c));
+            if (code != null) return code;
+            if (size == fields[0].length) {
+                for (int i = 0; i < fields.length; i++) fields[i] = Arrays.copyOf(fields[i], size * 2);
+            }
+            int[] values = {a, b, c};
+            for (int i = 0; i < fields.length; i++) fields[i][size] = values[i];
+            codes.put(new Key(a, b, c), size);
+            return size++;
+        }
+
+        int field(int code, int index) {
+            if (code < 0 || code >= size) throw new IllegalArgumentException("Unknown code: " + code);
+            return fields[index][code];
+        }
+    }
+
+    private final Map<String, Integer> valueCodes = new HashMap<>();
+    private String[] values = new String[64];
+    private int valueCount;
+
+    private final Table warehouses = new Table(3);
+    private final Table categories = new Table(2);
+    private final Table suppliers = new Table(3);
+
+    public int encodeWarehouse(String warehouseName, String location, String contactNumber) {
+        return warehouses.encode(value(warehouseName), value(location), value(contactNumber));
+    }
+
+    public int encodeCategory(String categoryName, String categoryCode) {
+        return categories.encode(value(categoryName), value(categoryCode), 0);
+    }
+
+    public int encodeSupplier(String supplierName, String supplierEmail, String supplierPhone) {
+        return suppliers.encode(value(supplierName), value(supplierEmail), value(supplierPhone));
+    }
+
+    public String getWarehouseName(int code) { return values[warehouses.field(code, 0)]; }
+    public String getLocation(int code) { return values[warehouses.field(code, 1)]; }
+    public String getContactNumber(int code) { return values[warehouses.field(code, 2)]; }
+    public String getCategoryName(int code) { return values[categories.field(code, 0)]; }
+    public String getCategoryCode(int code) { return values[categories.field(code, 1)]; }
+    public String getSupplierName(int code) { return values[suppliers.field(code, 0)]; }
+    public String getSupplierEmail(int code) { return values[suppliers.field(code, 1)]; }
+    public String getSupplierPhone(int code) { return values[suppliers.field(code, 2)]; }
+
+    public int warehouseCount() { return warehouses.size; }
+    public int categoryCount() { return categories.size; }
+    public int supplierCount() { return suppliers.size; }
+    public int distinctValues() { return valueCount; }
+
+    private int value(String text) {
+        if (text == null) throw new IllegalArgumentException("Master data cannot be null");
+        Integer code = valueCodes.get(text);
+        if (code != null) return code;
+        if (valueCount == values.length) values = Arrays.copyOf(values, valueCount * 2);
+        values[valueCount] = text;
+        valueCodes.put(text, valueCount);
+        return valueCount++;
+    }
+}
@@ -0,0 +1,121 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+interface ReorderListener {
+    void onReorderNeeded(int sku, int quantityAvailable, int reorderLevel);
+}
+
+// Tracks SKUs whose quantityAvailable is at or below reorderLevel as movements arrive.
+// Entries are ordered by shortfall (reorderLevel - quantityAvailable), largest first, so
+// listing the items needing reorder costs time proportional to the result size.
+// SKUs added to the store later are picked up by track(sku) or their first movement.
+class ReorderIndex implements StockMovementListener {
+    private static final long ABSENT = -1;
+
+    private final InventoryStore store;
+    private final StockReservationEngine engine;
+    private final ConcurrentSkipListSet<Long> entries = new ConcurrentSkipListSet<>();
+    private final CopyOnWriteArrayList<ReorderListener> listeners = new CopyOnWriteArrayList<>();
+    private final Object[] locks = new Object[64];
+    private final LongAdder count = new LongAdder();
+    // Indexed by SKU; replaced by a larger copy, under every stripe lock, when a new SKU appears.
+    private volatile long[] keys;
+
+    public ReorderIndex(InventoryStore store, StockReservationEngine engine) {
+        if (store == null || engine == null) throw new IllegalArgumentException("Store and engine cannot be null");
+        this.store = store;
+        this.engine = engine;
+        for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+        keys = new long[0];
+        for (int sku = 0; sku < store.size(); sku++) refresh(sku);
+    }
+
+    // Adds a SKU registered in the store after this index was created.
+    public void track(int sku) {
+        refresh(sku);
+    }
+
+    public void addListener(ReorderListener listener) {
+        if (listener == null) throw new IllegalArgumentException("Listener cannot be null");
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMovement(int sku, int quantityBefore, int quantityAfter) {
+        int level = store.getReorderLevel(sku);
+        refresh(sku);
+        if (quantityBefore > level && quantityAfter <= level) {
+            for (ReorderListener listener : listeners) listener.onReorderNeeded(sku, quantityAfter, level);
+        }
+    }
+
+    // Re-reads the SKU's live quantity and reorder level; also call after changing reorderLevel.
+    public void refresh(int sku) {
+        if (sku >= keys.length) grow(sku);
+        synchronized (locks[sku & (locks.length - 1)]) {
+            long[] current = keys;
+            int quantity = engine.getQuantityAvailable(sku);
+            int level = store.getReorderLevel(sku);
+            long key = quantity <= level ? key(sku, level - quantity) : ABSENT;
+            long previous = current[sku];
+            if (previous == key) return;
+            if (previous != ABSENT) {
+                entries.remove(previous);
+                count.decrement();
+            }
+            if (key != ABSENT) {
+                entries.add(key);
+                count.increment();
+            }
+            current[sku] = key;
+        }
+    }
+
+    private synchronized void grow(int sku) {
+        if (sku < keys.length) return;
+        growLocked(0, Math.max(Math.max(sku + 1, store.size()), keys.length * 2));
+    }
+
+    // Takes every stripe lock in order so no refresh writes into the array being copied.
+    private void growLocked(int stripe, int capacity) {
+        if (stripe < locks.length) {
+            synchronized (locks[stripe]) {
+                growLocked(stripe + 1, capacity);
+            }
+            return;
+        }
+        long[] grown = Arrays.copyOf(keys, capacity);
+        Arrays.fill(grown, keys.length, capacity, ABSENT);
+        keys = grown;
+    }
+
+    public boolean needsReorder(int sku) {
+        return engine.getQuantityAvailable(sku) <= store.getReorderLevel(sku);
+    }
+
+    public int size() { return (int) count.sum(); }
+
+    // Most urgent first; at most limit SKUs. Walks only the entries it returns.
+    public int[] itemsNeedingReorder(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit must be >= 0");
+        int[] result = new int[Math.min(limit, 16)];
+        int found = 0;
+        for (Iterator<Long> it = entries.iterator(); it.hasNext() && found < limit; ) {
+            if (found == result.length) result = Arrays.copyOf(result, (int) Math.min(limit, result.length * 2L));
+            result[found++] = (int) (it.next() & 0xFFFFFFFFL);
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    public List<StockItem> stockItemsNeedingReorder(int limit) {
+        List<StockItem> items = new ArrayList<>();
+        for (int sku : itemsNeedingReorder(limit)) items.add(store.toStockItem(sku));
+        return items;
+    }
+
+    private static long key(int sku, int shortfall) {
+        return ((long) (Integer.MAX_VALUE - shortfall) << 32) | sku;
+    }
+}
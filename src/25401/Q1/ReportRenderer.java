@@ -0,0 +1,155 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Timing for one batch of rendered reports.
+class RenderStats {
+    private final long[] reportNanos;
+    private final long elapsedNanos;
+    private final long bytesWritten;
+
+    RenderStats(long[] reportNanos, long elapsedNanos, long bytesWritten) {
+        this.reportNanos = reportNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.bytesWritten = bytesWritten;
+    }
+
+    public int getReports() { return reportNanos.length; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public long getBytesWritten() { return bytesWritten; }
+    public long getReportNanos(int index) { return reportNanos[index]; }
+
+    public long percentileNanos(double percentile) {
+        if (reportNanos.length == 0) return 0;
+        long[] sorted = reportNanos.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    public String summary() {
+        return String.format("Reports: %d, Elapsed: %.3f s, Reports/sec: %.0f, Bytes: %d, p50: %d ns, p99: %d ns, max: %d ns",
+                getReports(), elapsedNanos / 1e9, getReports() / Math.max(elapsedNanos / 1e9, 1e-9), bytesWritten,
+                percentileNanos(50), percentileNanos(99), percentileNanos(100));
+    }
+}
+
+// Renders StockReport.generateReport() text for many SKUs in parallel. Each worker formats
+// into a reused StringBuilder and encodes straight into a reused ByteBuffer; each round of
+// chunk buffers goes out in order with one gathering write.
+class ReportRenderer {
+    private final InventoryStore store;
+    private final SalesIndex sales;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int parallelism;
+    private final int reportsPerChunk;
+    private final ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private final ThreadLocal<CharsetEncoder> encoders = ThreadLocal.withInitial(StandardCharsets.UTF_8::newEncoder);
+
+    public ReportRenderer(InventoryStore store, SalesIndex sales, LocalDate from, LocalDate to, int parallelism, int reportsPerChunk) {
+        if (store == null || sales == null) throw new IllegalArgumentException("Store and sales index cannot be null");
+        if (from == null || to == null || from.isAfter(to)) throw new IllegalArgumentException("Invalid reporting period");
+        if (parallelism <= 0 || reportsPerChunk <= 0) throw new IllegalArgumentException("Parallelism and chunk size must be > 0");
+        this.store = store;
+        this.sales = sales;
+        this.from = from;
+        this.to = to;
+        this.parallelism = parallelism;
+        this.reportsPerChunk = reportsPerChunk;
+    }
+
+    public RenderStats render(int[] skus, GatheringByteChannel out) throws IOException {
+        long[] reportNanos = new long[skus.length];
+        ByteBuffer[] buffers = new ByteBuffer[parallelism];
+        for (int i = 0; i < buffers.length; i++) buffers[i] = ByteBuffer.allocateDirect(reportsPerChunk * 160);
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        long bytes = 0;
+        long start = System.nanoTime();
+        try {
+            List<Future<ByteBuffer>> round = new ArrayList<>(parallelism);
+            for (int roundStart = 0; roundStart < skus.length; roundStart += parallelism * reportsPerChunk) {
+                round.clear();
+                for (int slot = 0; slot < parallelism; slot++) {
+                    int chunkStart = roundStart + slot * reportsPerChunk;
+                    if (chunkStart >= skus.length) break;
+                    int chunkEnd = Math.min(skus.length, chunkStart + reportsPerChunk);
+                    ByteBuffer buffer = buffers[slot];
+                    round.add(pool.submit(() -> renderChunk(skus, chunkStart, chunkEnd, buffer, reportNanos)));
+                }
+                ByteBuffer[] filled = new ByteBuffer[round.size()];
+                for (int i = 0; i < filled.length; i++) {
+                    filled[i] = await(round.get(i));
+                    buffers[i] = filled[i];
+                }
+                long remaining = 0;
+                for (ByteBuffer buffer : filled) remaining += buffer.remaining();
+                bytes += remaining;
+                while (remaining > 0) remaining -= out.write(filled);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new RenderStats(reportNanos, System.nanoTime() - start, bytes);
+    }
+
+    public String generateReport(int sku) {
+        StringBuilder report = new StringBuilder(128);
+        append(report, sku);
+        return report.toString();
+    }
+
+    // Returns the filled buffer flipped for reading; it may be a larger replacement.
+    private ByteBuffer renderChunk(int[] skus, int start, int end, ByteBuffer buffer, long[] reportNanos) {
+        StringBuilder line = builders.get();
+        CharsetEncoder encoder = encoders.get();
+        buffer.clear();
+        for (int i = start; i < end; i++) {
+            long began = System.nanoTime();
+            line.setLength(0);
+            append(line, skus[i]);
+            line.append('\n');
+            encoder.reset();
+            CharBuffer chars = CharBuffer.wrap(line);
+            while (encoder.encode(chars, buffer, true) == CoderResult.OVERFLOW) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            reportNanos[i] = System.nanoTime() - began;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    // Same text as StockReport.generateReport() for the SKU's view, prefixed with its identity.
+    private void append(StringBuilder out, int sku) {
+        int quantity = store.getQuantityAvailable(sku);
+        MasterDataDictionary dictionary = store.getDictionary();
+        out.append(store.getId(sku)).append(" | ")
+           .append(dictionary.getWarehouseName(store.getWarehouseCode(sku))).append(" | ")
+           .append(store.getProductName(sku)).append(" | ")
+           .append("Stock Report - Total Items: ").append(quantity)
+           .append(", Stock Value: $").append(quantity * store.getUnitPrice(sku))
+           .append(", Sales: ").append(sales.unitsSold(sku, from, to));
+    }
+
+    private static ByteBuffer await(Future<ByteBuffer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering reports", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Report rendering failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import java.time.LocalDate;
+import java.util.*;
+
+// Units sold per SKU in day buckets, one Fenwick tree per SKU that has sales. Inserts may
+// arrive in any date order; both inserts and one SKU's range total cost O(log days).
+// topSellers has no cross-SKU structure: it takes every SKU's range total and keeps the best
+// n in a heap, so it costs O(SKUs * log days + SKUs * log n) per window.
+// SKUs added to the store later are picked up by track(sku) or their first sale.
+class SalesIndex {
+    private final InventoryStore store;
+    private final long firstDay;
+    private final int days;
+    // Indexed by SKU; replaced by a larger copy under this index's lock, which also guards creating a tree.
+    private volatile long[][] trees;
+
+    public SalesIndex(InventoryStore store, LocalDate firstDay, int days) {
+        if (store == null || firstDay == null) throw new IllegalArgumentException("Store and first day cannot be null");
+        if (days <= 0) throw new IllegalArgumentException("Days must be > 0");
+        this.store = store;
+        this.firstDay = firstDay.toEpochDay();
+        this.days = days;
+        this.trees = new long[store.size()][];
+    }
+
+    // Adds a SKU registered in the store after this index was created.
+    public void track(int sku) {
+        tree(sku, false);
+        synchronized (this) {
+            if (sku >= trees.length) grow(sku);
+        }
+    }
+
+    public void record(Sale sale) {
+        int sku = store.skuOf(sale.getId());
+        if (sku < 0) throw new IllegalArgumentException("Unknown stock item ID: " + sale.getId());
+        record(sku, sale.getSaleDate(), sale.getSoldQuantity());
+    }
+
+    public void record(int sku, LocalDate saleDate, int soldQuantity) {
+        if (soldQuantity <= 0) throw new IllegalArgumentException("Sold quantity must be > 0");
+        int day = bucket(saleDate);
+        long[] tree = tree(sku, true);
+        synchronized (tree) {
+            for (int i = day + 1; i <= days; i += i & -i) tree[i] += soldQuantity;
+        }
+    }
+
+    // Inclusive of both dates.
+    public long unitsSold(int sku, LocalDate from, LocalDate to) {
+        int start = bucket(from), end = bucket(to);
+        if (start > end) throw new IllegalArgumentException("Start date must not be after end date");
+        long[] tree = tree(sku, false);
+        if (tree == null) return 0;
+        synchronized (tree) {
+            return prefix(tree, end + 1) - prefix(tree, start);
+        }
+    }
+
+    // Range total per SKU in O(log days), then a bounded heap keeps the n best.
+    public int[] topSellers(LocalDate from, LocalDate to, int n) {
+        if (n < 0) throw new IllegalArgumentException("N must be >= 0");
+        PriorityQueue<long[]> best = new PriorityQueue<>((a, b) -> a[1] != b[1] ? Long.compare(a[1], b[1]) : Long.compare(b[0], a[0]));
+        long[][] current = trees;
+        for (int sku = 0; sku < current.length; sku++) {
+            if (current[sku] == null) continue;
+            long units = unitsSold(sku, from, to);
+            if (units == 0 || n == 0) continue;
+            if (best.size() < n) {
+                best.add(new long[] {sku, units});
+            } else if (units > best.peek()[1]) {
+                best.poll();
+                best.add(new long[] {sku, units});
+            }
+        }
+        int[] result = new int[best.size()];
+        for (int i = result.length - 1; i >= 0; i--) result[i] = (int) best.poll()[0];
+        return result;
+    }
+
+    public String generateReport(LocalDate from, LocalDate to, int n) {
+        StringBuilder report = new StringBuilder("Top Sellers " + from + " to " + to + ":");
+        for (int sku : topSellers(from, to, n)) {
+            report.append("\n").append(store.getProductName(sku)).append(" - Sold: ").append(unitsSold(sku, from, to));
+        }
+        return report.toString();
+    }
+
+    private static long prefix(long[] tree, int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) sum += tree[i];
+        return sum;
+    }
+
+    private long[] tree(int sku, boolean create) {
+        if (sku < 0 || sku >= store.size()) throw new IllegalArgumentException("Unknown SKU: " + sku);
+        long[][] current = trees;
+        long[] tree = sku < current.length ? current[sku] : null;
+        if (tree != null || !create) return tree;
+        synchronized (this) {
+            if (sku >= trees.length) grow(sku);
+            if (trees[sku] == null) trees[sku] = new long[days + 1];
+            return trees[sku];
+        }
+    }
+
+    // Caller holds this index's lock.
+    private void grow(int sku) {
+        trees = Arrays.copyOf(trees, Math.max(Math.max(sku + 1, store.size()), trees.length * 2));
+    }
+
+    private int bucket(LocalDate date) {
+        if (date == null) throw new IllegalArgumentException("Date cannot be null");
+        long day = date.toEpochDay() - firstDay;
+        if (day < 0 || day >= days) throw new IllegalArgumentException("Date outside indexed range: " + date);
+        return (int) day;
+    }
+}
@@ -0,0 +1,75 @@
+import java.time.LocalDate;
+import java.util.*;
+
+// Inserts sales into a SalesIndex in shuffled date order, including SKUs registered after the
+// index was built, and checks unitsSold and topSellers for random windows against a linear
+// scan of the raw sales. Then times range totals and top-N queries.
+public class SalesIndexBenchmark {
+    public static void main(String[] args) {
+        int skus = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 365;
+        int salesCount = args.length > 2 ? Integer.parseInt(args[2]) : 500_000;
+        int windows = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+
+        LocalDate first = LocalDate.of(2026, 1, 1);
+        Supplier master = new Supplier(1, first, first, "Main", "Kigali", "0780000000", "General", "GEN", "Acme", "sales@acme.com", "0780000001");
+        InventoryStore store = new InventoryStore(skus);
+        for (int i = 1; i <= skus / 2; i++) store.add(master, i, "Product " + i, 5.0, 10_000, 500, 50);
+        SalesIndex index = new SalesIndex(store, first, days);
+        // The second half is registered afterwards: half tracked explicitly, half on first sale.
+        for (int i = skus / 2 + 1; i <= skus; i++) {
+            int sku = store.add(master, i, "Product " + i, 5.0, 10_000, 500, 50);
+            if (i % 2 == 0) index.track(sku);
+        }
+
+        // Skewed SKUs and small quantities, so windows have ties in the top-N.
+        Random random = new Random(7);
+        int[] saleSku = new int[salesCount], saleDay = new int[salesCount], saleUnits = new int[salesCount];
+        for (int i = 0; i < salesCount; i++) {
+            saleSku[i] = Math.min(skus - 1, (int) (skus * Math.pow(random.nextDouble(), 3)));
+            saleDay[i] = random.nextInt(days);
+            saleUnits[i] = 1 + random.nextInt(3);
+        }
+        // Shuffled, so most inserts land before days already recorded for the SKU.
+        Integer[] order = new Integer[salesCount];
+        for (int i = 0; i < salesCount; i++) order[i] = i;
+        Collections.shuffle(Arrays.asList(order), random);
+        long start = System.nanoTime();
+        for (int i : order) index.record(saleSku[i], first.plusDays(saleDay[i]), saleUnits[i]);
+        long insertNanos = System.nanoTime() - start;
+
+        long rangeNanos = 0, topNanos = 0, rangeQueries = 0;
+        for (int w = 0; w < windows; w++) {
+            int from = random.nextInt(days), to = from + random.nextInt(days - from);
+            int n = 1 + random.nextInt(20);
+            long[] expected = new long[skus];
+            for (int i = 0; i < salesCount; i++) if (saleDay[i] >= from && saleDay[i] <= to) expected[saleSku[i]] += saleUnits[i];
+
+            LocalDate fromDate = first.plusDays(from), toDate = first.plusDays(to);
+            long began = System.nanoTime();
+            for (int sku = 0; sku < skus; sku++) {
+                if (index.unitsSold(sku, fromDate, toDate) != expected[sku])
+                    throw new IllegalStateException("SKU " + sku + " " + fromDate + ".." + toDate + ": index " + index.unitsSold(sku, fromDate, toDate) + ", scan " + expected[sku]);
+            }
+            rangeNanos += System.nanoTime() - began;
+            rangeQueries += skus;
+
+            began = System.nanoTime();
+            int[] top = index.topSellers(fromDate, toDate, n);
+            topNanos += System.nanoTime() - began;
+            // Most units first, lower SKU first on ties; SKUs with no sales are never listed.
+            List<Integer> ranked = new ArrayList<>();
+            for (int sku = 0; sku < skus; sku++) if (expected[sku] > 0) ranked.add(sku);
+            ranked.sort((a, b) -> expected[a] != expected[b] ? Long.compare(expected[b], expected[a]) : Integer.compare(a, b));
+            int[] want = ranked.subList(0, Math.min(n, ranked.size())).stream().mapToInt(Integer::intValue).toArray();
+            if (!Arrays.equals(top, want))
+                throw new IllegalStateException("Top " + n + " for " + fromDate + ".." + toDate + ": index " + Arrays.toString(top) + ", scan " + Arrays.toString(want));
+        }
+
+        System.out.println("=== Sales Index Benchmark ===");
+        System.out.println("SKUs: " + skus + " (" + (skus - skus / 2) + " registered after the index), Days: " + days + ", Sales: " + salesCount + " inserted out of date order");
+        System.out.printf("Inserts: %.3f s (%.0f ns/sale)%n", insertNanos / 1e9, (double) insertNanos / salesCount);
+        System.out.printf("Range totals: %d checked against a scan, %.0f ns/query%n", rangeQueries, (double) rangeNanos / rangeQueries);
+        System.out.printf("Top-N: %d windows checked against a scan, %.3f ms/window%n", windows, topNanos / 1e6 / windows);
+    }
+}
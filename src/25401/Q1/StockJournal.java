@@ -0,0 +1,233 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+// Append-only binary journal of accepted stock movements (int sku, int delta per record).
+// Movements are buffered and a single writer thread group-commits each batch with one force().
+// The writer also replays every batch into a shadow copy of the quantities, so a snapshot is
+// always exactly consistent with a journal position. Recovery loads the snapshot and replays
+// the journal tail with bulk FileChannel reads. The journal covers the SKUs registered when it
+// is opened; a movement on a SKU added later is rejected with IllegalArgumentException.
+// If the writer thread fails, every waiting and later caller fails with its cause.
+class StockJournal implements StockMovementListener, Closeable {
+    static final String JOURNAL_FILE = "stock.journal";
+    static final String SNAPSHOT_FILE = "stock.snapshot";
+
+    private static final int RECORD_BYTES = 8;
+    private static final int SNAPSHOT_MAGIC = 0x534E4150;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final FileChannel channel;
+    private final int[] shadow;
+    private final long snapshotInterval;
+    private final Thread writer;
+
+    private final Object lock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long appended;
+    private long durable;
+    private boolean snapshotRequested;
+    private boolean closed;
+    private Throwable failure;
+
+    private long position;
+    private long sinceSnapshot;
+
+    // The store must already reflect the journal (see recover) and be quiescent while opening.
+    public StockJournal(InventoryStore store, Path directory, long snapshotInterval) throws IOException {
+        if (store == null || directory == null) throw new IllegalArgumentException("Store and directory cannot be null");
+        if (snapshotInterval <= 0) throw new IllegalArgumentException("Snapshot interval must be > 0");
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.shadow = new int[store.size()];
+        for (int sku = 0; sku < shadow.length; sku++) shadow[sku] = store.getQuantityAvailable(sku);
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.position = channel.size() - channel.size() % RECORD_BYTES;
+        writeSnapshot();
+        this.writer = new Thread(this::writeLoop, "stock-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void onMovement(int sku, int quantityBefore, int quantityAfter) {
+        if (sku < 0 || sku >= shadow.length) throw new IllegalArgumentException("SKU " + sku + " is not covered by the stock journal");
+        synchronized (lock) {
+            checkOpen();
+            while (pending.remaining() < RECORD_BYTES) {
+                await();
+                checkOpen();
+            }
+            boolean wasEmpty = pending.position() == 0;
+            pending.putInt(sku).putInt(quantityAfter - quantityBefore);
+            appended++;
+            if (wasEmpty) lock.notifyAll();
+        }
+    }
+
+    // Blocks until every movement journaled before this call is on disk.
+    public void sync() {
+        synchronized (lock) {
+            long target = appended;
+            while (durable < target) {
+                checkOpen();
+                await();
+            }
+        }
+    }
+
+    public void requestSnapshot() {
+        synchronized (lock) {
+            snapshotRequested = true;
+            lock.notifyAll();
+        }
+    }
+
+    public long getDurableMovements() {
+        synchronized (lock) { return durable; }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (failure == null) writeSnapshot();
+        } finally {
+            channel.close();
+        }
+        if (failure instanceof IOException) throw (IOException) failure;
+        if (failure != null) throw new IOException("Stock journal writer failed", failure);
+    }
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                ByteBuffer batch;
+                long upTo;
+                boolean snapshot;
+                synchronized (lock) {
+                    while (pending.position() == 0 && !snapshotRequested && !closed) lock.wait();
+                    if (pending.position() == 0 && !snapshotRequested) return;
+                    batch = pending;
+                    pending = spare;
+                    spare = null;
+                    upTo = appended;
+                    snapshot = snapshotRequested;
+                    snapshotRequested = false;
+                    lock.notifyAll();
+                }
+                batch.flip();
+                int bytes = batch.remaining();
+                while (batch.hasRemaining()) channel.write(batch, position + bytes - batch.remaining());
+                channel.force(false);
+                position += bytes;
+                batch.flip();
+                while (batch.hasRemaining()) shadow[batch.getInt()] += batch.getInt();
+                batch.clear();
+                sinceSnapshot += bytes / RECORD_BYTES;
+                if (snapshot || sinceSnapshot >= snapshotInterval) writeSnapshot();
+                synchronized (lock) {
+                    spare = batch;
+                    durable = upTo;
+                    lock.notifyAll();
+                }
+            }
+        } catch (Throwable e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            synchronized (lock) {
+                failure = e;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // Only called by the writer thread, or before it starts / after it stops.
+    private void writeSnapshot() throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16 + shadow.length * 4);
+        buffer.putInt(SNAPSHOT_MAGIC).putLong(position).putInt(shadow.length);
+        for (int quantity : shadow) buffer.putInt(quantity);
+        buffer.flip();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) out.write(buffer);
+            out.force(false);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        sinceSnapshot = 0;
+    }
+
+    private void checkOpen() {
+        if (failure instanceof IOException) throw new UncheckedIOException("Stock journal write failed", (IOException) failure);
+        if (failure != null) throw new IllegalStateException("Stock journal writer failed", failure);
+        if (closed) throw new IllegalStateException("Stock journal is closed");
+    }
+
+    private void await() {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the stock journal", e);
+        }
+    }
+
+    // Restores quantities from the latest snapshot plus the journal tail; returns movements replayed.
+    public static long recover(InventoryStore store, Path directory) throws IOException {
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshotFile)) return 0;
+        int[] quantity = store.quantityColumn();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4 << 20);
+        long start;
+        try (FileChannel in = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            while (header.hasRemaining() && in.read(header) >= 0) { }
+            header.flip();
+            if (header.remaining() < 16 || header.getInt() != SNAPSHOT_MAGIC) throw new IOException("Invalid stock snapshot");
+            start = header.getLong();
+            int count = header.getInt();
+            if (count != store.size()) throw new IllegalStateException("Snapshot covers " + count + " SKUs but store has " + store.size());
+            int sku = 0;
+            while (sku < count) {
+                if (in.read(buffer) < 0) throw new IOException("Truncated stock snapshot");
+                buffer.flip();
+                while (buffer.remaining() >= 4 && sku < count) quantity[sku++] = buffer.getInt();
+                buffer.compact();
+            }
+        }
+
+        Path journalFile = directory.resolve(JOURNAL_FILE);
+        if (!Files.exists(journalFile)) return 0;
+        long replayed = 0;
+        try (FileChannel in = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            long readPosition = start;
+            buffer.clear();
+            int read;
+            while ((read = in.read(buffer, readPosition)) > 0) {
+                readPosition += read;
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_BYTES) {
+                    int sku = buffer.getInt();
+                    quantity[sku] += buffer.getInt();
+                    replayed++;
+                }
+                buffer.compact();
+            }
+        }
+        return replayed;
+    }
+}
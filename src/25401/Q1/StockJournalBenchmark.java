@@ -0,0 +1,53 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+
+// Journals a stream of movements, simulates a crash after the last group commit, and times
+// recovery from the opening snapshot plus a full replay of the journal.
+public class StockJournalBenchmark {
+    public static void main(String[] args) throws IOException {
+        int movements = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int skus = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Path directory = args.length > 2 ? Path.of(args[2]) : Files.createTempDirectory("stock-journal");
+
+        InventoryStore store = newStore(skus);
+        StockReservationEngine engine = new StockReservationEngine(store);
+        StockJournal journal = new StockJournal(store, directory, Long.MAX_VALUE);
+        engine.addListener(journal);
+
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        int recorded = 0;
+        while (recorded < movements) {
+            int sku = random.nextInt(skus);
+            int quantity = 1 + random.nextInt(5);
+            if (random.nextBoolean() ? engine.recordSale(sku, quantity) : engine.recordPurchase(sku, quantity)) recorded++;
+        }
+        journal.sync();
+        long writeTime = System.nanoTime() - start;
+
+        InventoryStore recovered = newStore(skus);
+        start = System.nanoTime();
+        long replayed = StockJournal.recover(recovered, directory);
+        long recoverTime = System.nanoTime() - start;
+
+        for (int sku = 0; sku < skus; sku++) {
+            if (recovered.getQuantityAvailable(sku) != store.getQuantityAvailable(sku)) throw new IllegalStateException("Recovered quantity differs for SKU " + sku);
+        }
+        System.out.println("=== Stock Journal Benchmark ===");
+        System.out.println("Directory: " + directory);
+        System.out.println("Movements: " + recorded + ", SKUs: " + skus);
+        System.out.printf("Journal write: %.3f s (%.0f movements/sec)%n", writeTime / 1e9, recorded / (writeTime / 1e9));
+        System.out.printf("Recovery: %d movements replayed in %.3f s%n", replayed, recoverTime / 1e9);
+    }
+
+    private static InventoryStore newStore(int skus) {
+        LocalDate now = LocalDate.of(2026, 1, 1);
+        Supplier master = new Supplier(1, now, now, "Main", "Kigali", "0780000000", "General", "GEN", "Acme", "sales@acme.com", "0780000001");
+        InventoryStore store = new InventoryStore(skus);
+        for (int i = 1; i <= skus; i++) store.add(master, i, "Product " + i, 10.0, 1_000, 500, 50);
+        return store;
+    }
+}
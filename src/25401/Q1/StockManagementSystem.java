@@ -1,4 +1,6 @@
 import java.util.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 
 // System 1: Stock Management System
@@ -180,7 +182,12 @@ final class StockReport extends Inventory {
 }
 
 public class StockManagementSystem {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2 && args[0].equals("--import")) {
+            LedgerImporter.run(Path.of(args[1]));
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
         
         System.out.println("=== Stock Management System ===");
@@ -0,0 +1,4 @@
+// Notified after every accepted stock movement, with the SKU's quantity before and after.
+interface StockMovementListener {
+    void onMovement(int sku, int quantityBefore, int quantityAfter);
+}
@@ -0,0 +1,111 @@
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Contention benchmark: many threads record sales and purchases against a skewed SKU mix
+// where a handful of hot SKUs receive most of the traffic. Afterwards the running totals are
+// checked against a recount, per group and per label, including for SKUs in new groups
+// registered after the totals were built.
+public class StockReservationBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int skus = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int opsPerThread = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        int hotSkus = Math.max(1, skus / 100);
+
+        LocalDate now = LocalDate.now();
+        Supplier[] masters = {
+            new Supplier(1, now, now, "Main", "Kigali", "0780000000", "General", "GEN", "Acme", "sales@acme.com", "0780000001"),
+            new Supplier(2, now, now, "North", "Musanze", "0780000002", "Hardware", "HRD", "Bolt Ltd", "info@bolt.com", "0780000003"),
+            new Supplier(3, now, now, "South", "Huye", "0780000004", "Grocery", "GRC", "Fresh Co", "hello@fresh.com", "0780000005")
+        };
+        InventoryStore store = new InventoryStore(skus);
+        for (int i = 1; i <= skus; i++) store.add(masters[i % masters.length], i, "Product " + i, 9.99 + i % 7, 1_000, 500, 50);
+        StockReservationEngine engine = new StockReservationEngine(store);
+        InventoryTotals totals = new InventoryTotals(store);
+        engine.addListener(totals);
+        long initialItems = store.totalItems();
+
+        LongAdder sold = new LongAdder();
+        LongAdder purchased = new LongAdder();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long localSold = 0, localPurchased = 0;
+                for (int i = 0; i < opsPerThread; i++) {
+                    // 90% of operations land on the hottest 1% of SKUs.
+                    int sku = random.nextInt(10) < 9 ? random.nextInt(hotSkus) : random.nextInt(skus);
+                    int quantity = 1 + random.nextInt(5);
+                    if (random.nextBoolean()) {
+                        if (engine.recordSale(sku, quantity)) localSold += quantity;
+                    } else {
+                        if (engine.recordPurchase(sku, quantity)) localPurchased += quantity;
+                    }
+                }
+                sold.add(localSold);
+                purchased.add(localPurchased);
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+        long elapsed = System.nanoTime() - start;
+
+        long operations = (long) threads * opsPerThread;
+        long expected = initialItems + purchased.sum() - sold.sum();
+        System.out.println("=== Stock Reservation Benchmark ===");
+        System.out.println("Threads: " + threads + ", SKUs: " + skus + ", Hot SKUs: " + hotSkus);
+        System.out.println("Operations: " + operations);
+        System.out.printf("Elapsed: %.3f s%n", elapsed / 1e9);
+        System.out.printf("Throughput: %.0f ops/sec%n", operations / (elapsed / 1e9));
+        System.out.println("Rejected Sales: " + engine.getRejectedSales());
+        System.out.println("Rejected Purchases: " + engine.getRejectedPurchases());
+        System.out.println("Final Items: " + store.totalItems() + " (expected " + expected + ")");
+        System.out.println(totals.generateReport(InventoryTotals.Dimension.WAREHOUSE));
+        if (store.totalItems() != expected) throw new IllegalStateException("Stock totals do not reconcile");
+        if (!totals.matchesRecount()) throw new IllegalStateException("Running inventory totals do not match a full recount");
+
+        // Two SKUs in new groups, registered after the totals were built, for five groups per dimension.
+        Supplier[] late = {
+            new Supplier(4, now, now, "East", "Rwamagana", "0780000006", "Textiles", "TXT", "Weave Ltd", "sales@weave.com", "0780000007"),
+            new Supplier(5, now, now, "West", "Rubavu", "0780000008", "Fuel", "FUL", "Lake Oil", "info@lakeoil.com", "0780000009")
+        };
+        for (int i = 0; i < late.length; i++) {
+            int sku = store.add(late[i], skus + 1 + i, "Product " + (skus + 1 + i), 4.5, 1_000, 200, 50);
+            totals.track(sku);
+            engine.recordSale(sku, 25);
+        }
+        if (!totals.matchesRecount()) throw new IllegalStateException("Running totals do not match a recount after new groups were tracked");
+        for (InventoryTotals.Dimension dimension : InventoryTotals.Dimension.values()) {
+            String report = totals.generateReport(dimension);
+            int groups = (int) report.lines().count() - 1;
+            if (groups != 5) throw new IllegalStateException(dimension + " report lists " + groups + " groups, expected 5");
+            checkByLabel(store, totals, dimension);
+        }
+        System.out.println("Recount and per-label report totals match across 5 groups per dimension");
+    }
+
+    // Recounts the store per label and compares with the label queries.
+    private static void checkByLabel(InventoryStore store, InventoryTotals totals, InventoryTotals.Dimension dimension) {
+        Map<String, Long> items = new HashMap<>();
+        Map<String, Long> cents = new HashMap<>();
+        MasterDataDictionary dictionary = store.getDictionary();
+        for (int sku = 0; sku < store.size(); sku++) {
+            String label;
+            switch (dimension) {
+                case WAREHOUSE: label = dictionary.getWarehouseName(store.getWarehouseCode(sku)); break;
+                case CATEGORY: label = dictionary.getCategoryCode(store.getCategoryCode(sku)); break;
+                default: label = dictionary.getSupplierName(store.getSupplierCode(sku));
+            }
+            items.merge(label, (long) store.getQuantityAvailable(sku), Long::sum);
+            cents.merge(label, store.getQuantityAvailable(sku) * Math.round(store.getUnitPrice(sku) * 100), Long::sum);
+        }
+        for (String label : items.keySet()) {
+            if (totals.getTotalItems(dimension, label) != items.get(label) || Math.round(totals.getStockValue(dimension, label) * 100) != cents.get(label))
+                throw new IllegalStateException(dimension + " " + label + " does not match a recount");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Lock-free Sale/Purchase movements against the InventoryStore quantity column.
+// Each SKU's quantity is updated with compare-and-set, so a sale never drives stock below
+// zero and a purchase never pushes it above stockLimit. A SKU already above its limit can still
+// be sold down. Register SKUs before recording.
+// An engine built with stripes also guards each SKU with the read side of its stripe's lock:
+// movements still run concurrently, but a StockTransferService holding the write side sees
+// and changes its SKUs with no other movement in between.
+class StockReservationEngine {
+    private static final VarHandle QUANTITY = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final InventoryStore store;
+    private final LongAdder rejectedSales = new LongAdder();
+    private final LongAdder rejectedPurchases = new LongAdder();
+    private final CopyOnWriteArrayList<StockMovementListener> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantReadWriteLock[] stripes;
+
+    public StockReservationEngine(InventoryStore store) {
+        this(store, 0);
+    }
+
+    public StockReservationEngine(InventoryStore store, int stripes) {
+        if (store == null) throw new IllegalArgumentException("Store cannot be null");
+        if (stripes < 0) throw new IllegalArgumentException("Stripes must be >= 0");
+        this.store = store;
+        this.stripes = new ReentrantReadWriteLock[stripes];
+        for (int i = 0; i < stripes; i++) this.stripes[i] = new ReentrantReadWriteLock();
+    }
+
+    public void addListener(StockMovementListener listener) {
+        if (listener == null) throw new IllegalArgumentException("Listener cannot be null");
+        listeners.add(listener);
+    }
+
+    public boolean recordSale(int sku, int soldQuantity) {
+        if (soldQuantity <= 0) throw new IllegalArgumentException("Sold quantity must be > 0");
+        if (guardedAdjust(sku, -soldQuantity)) return true;
+        rejectedSales.increment();
+        return false;
+    }
+
+    public boolean recordPurchase(int sku, int purchasedQuantity) {
+        if (purchasedQuantity <= 0) throw new IllegalArgumentException("Quantity must be > 0");
+        if (guardedAdjust(sku, purchasedQuantity)) return true;
+        rejectedPurchases.increment();
+        return false;
+    }
+
+    private boolean guardedAdjust(int sku, int delta) {
+        if (stripes.length == 0) return adjust(sku, delta);
+        ReentrantReadWriteLock.ReadLock lock = stripeLock(stripeOf(sku)).readLock();
+        lock.lock();
+        try {
+            return adjust(sku, delta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Applies delta only if the result stays >= 0 and, for an increase, <= stockLimit.
+    boolean adjust(int sku, int delta) {
+        int[] quantity = column(sku);
+        int limit = store.getStockLimit(sku);
+        int current = (int) QUANTITY.getVolatile(quantity, sku);
+        while (true) {
+            long next = (long) current + delta;
+            if (next < 0 || (delta > 0 && next > limit)) return false;
+            int witness = (int) QUANTITY.compareAndExchange(quantity, sku, current, (int) next);
+            if (witness == current) {
+                notifyListeners(sku, current, (int) next);
+                return true;
+            }
+            current = witness;
+        }
+    }
+
+    public boolean record(Sale sale) {
+        return recordSale(skuOf(sale), sale.getSoldQuantity());
+    }
+
+    public boolean record(Purchase purchase) {
+        return recordPurchase(skuOf(purchase), purchase.getPurchasedQuantity());
+    }
+
+    public int getQuantityAvailable(int sku) {
+        return (int) QUANTITY.getVolatile(column(sku), sku);
+    }
+
+    int stripeCount() { return stripes.length; }
+
+    int stripeOf(int sku) { return sku % stripes.length; }
+
+    ReentrantReadWriteLock stripeLock(int stripe) { return stripes[stripe]; }
+
+    public long getRejectedSales() { return rejectedSales.sum(); }
+    public long getRejectedPurchases() { return rejectedPurchases.sum(); }
+
+    private void notifyListeners(int sku, int before, int after) {
+        for (StockMovementListener listener : listeners) listener.onMovement(sku, before, after);
+    }
+
+    private int[] column(int sku) {
+        if (sku < 0 || sku >= store.size()) throw new IllegalArgumentException("Unknown SKU: " + sku);
+        return store.quantityColumn();
+    }
+
+    private int skuOf(StockItem item) {
+        int sku = store.skuOf(item.getId());
+        if (sku < 0) throw new IllegalArgumentException("Unknown stock item ID: " + item.getId());
+        return sku;
+    }
+}
@@ -0,0 +1,63 @@
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Concurrent warehouse-to-warehouse transfers in both directions, single vs batched commits.
+// Every product's quantity summed over its warehouses must be unchanged afterwards.
+public class StockTransferBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int products = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int transfersPerThread = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+
+        for (int batchSize : new int[] {1, 32}) {
+            LocalDate now = LocalDate.of(2026, 1, 1);
+            Supplier[] warehouses = {
+                new Supplier(1, now, now, "Main", "Kigali", "0780000000", "General", "GEN", "Acme", "sales@acme.com", "0780000001"),
+                new Supplier(2, now, now, "North", "Musanze", "0780000002", "General", "GEN", "Acme", "sales@acme.com", "0780000001")
+            };
+            InventoryStore store = new InventoryStore(products * 2);
+            for (int p = 0; p < products; p++) {
+                store.add(warehouses[0], 2 * p + 1, "Product " + p, 5.0, 1_000, 500, 50);
+                store.add(warehouses[1], 2 * p + 2, "Product " + p, 5.0, 1_000, 500, 50);
+            }
+            StockReservationEngine engine = new StockReservationEngine(store, 256);
+            StockTransferService service = new StockTransferService(store, engine);
+            long before = store.totalItems();
+
+            LongAdder applied = new LongAdder();
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    List<StockTransfer> batch = new ArrayList<>(batchSize);
+                    for (int i = 0; i < transfersPerThread; i += batchSize) {
+                        batch.clear();
+                        for (int j = 0; j < batchSize; j++) {
+                            // Half the transfers hit 16 hot products so opposite-direction pairs collide often.
+                            int p = random.nextInt(random.nextBoolean() ? 16 : products);
+                            boolean northbound = random.nextBoolean();
+                            batch.add(new StockTransfer(northbound ? 2 * p : 2 * p + 1, northbound ? 2 * p + 1 : 2 * p, 1 + random.nextInt(20)));
+                        }
+                        for (boolean ok : service.commitBatch(batch)) if (ok) applied.increment();
+                    }
+                });
+            }
+            long start = System.nanoTime();
+            for (Thread worker : workers) worker.start();
+            for (Thread worker : workers) worker.join();
+            long elapsed = System.nanoTime() - start;
+
+            for (int p = 0; p < products; p++) {
+                if (store.getQuantityAvailable(2 * p) + store.getQuantityAvailable(2 * p + 1) != 1_000)
+                    throw new IllegalStateException("Product " + p + " quantity not conserved");
+            }
+            long total = (long) threads * ((transfersPerThread + batchSize - 1) / batchSize) * batchSize;
+            System.out.println("=== Stock Transfer Benchmark (batch size " + batchSize + ") ===");
+            System.out.println("Threads: " + threads + ", Transfers: " + total + ", Applied: " + applied.sum());
+            System.out.printf("Elapsed: %.3f s, Throughput: %.0f transfers/sec%n", elapsed / 1e9, total / (elapsed / 1e9));
+            System.out.println("Total Items: " + store.totalItems() + " (before " + before + ")");
+        }
+    }
+}
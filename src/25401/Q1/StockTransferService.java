@@ -0,0 +1,84 @@
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class StockTransfer {
+    private final int fromSku;
+    private final int toSku;
+    private final int quantity;
+
+    public StockTransfer(int fromSku, int toSku, int quantity) {
+        if (fromSku == toSku) throw new IllegalArgumentException("Source and destination must differ");
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be > 0");
+        this.fromSku = fromSku;
+        this.toSku = toSku;
+        this.quantity = quantity;
+    }
+
+    public int getFromSku() { return fromSku; }
+    public int getToSku() { return toSku; }
+    public int getQuantity() { return quantity; }
+}
+
+// Moves quantity of a product between two warehouses' StockItems. A batch takes the write
+// side of the engine's stripe lock for every SKU it touches, in ascending stripe order, so
+// opposite-direction batches cannot deadlock. Sales and purchases hold the read side, so none
+// of them can run between a transfer's debit and credit or between the transfers of a batch:
+// the whole batch becomes visible at once. Each transfer still succeeds or fails on its own.
+class StockTransferService {
+    private final InventoryStore store;
+    private final StockReservationEngine engine;
+
+    public StockTransferService(InventoryStore store, StockReservationEngine engine) {
+        if (store == null || engine == null) throw new IllegalArgumentException("Store and engine cannot be null");
+        if (engine.stripeCount() == 0) throw new IllegalArgumentException("Engine must be built with stripe locks");
+        this.store = store;
+        this.engine = engine;
+    }
+
+    public boolean transfer(int fromSku, int toSku, int quantity) {
+        return commitBatch(List.of(new StockTransfer(fromSku, toSku, quantity)))[0];
+    }
+
+    // Returns, per transfer, whether it was applied. Rejected transfers leave stock unchanged.
+    public boolean[] commitBatch(List<StockTransfer> batch) {
+        for (StockTransfer transfer : batch) validate(transfer);
+        int[] stripes = new int[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            stripes[2 * i] = engine.stripeOf(batch.get(i).getFromSku());
+            stripes[2 * i + 1] = engine.stripeOf(batch.get(i).getToSku());
+        }
+        stripes = Arrays.stream(stripes).sorted().distinct().toArray();
+        ReentrantReadWriteLock.WriteLock[] held = new ReentrantReadWriteLock.WriteLock[stripes.length];
+        boolean[] applied = new boolean[batch.size()];
+        int locked = 0;
+        try {
+            for (int stripe : stripes) {
+                held[locked] = engine.stripeLock(stripe).writeLock();
+                held[locked].lock();
+                locked++;
+            }
+            for (int i = 0; i < applied.length; i++) applied[i] = apply(batch.get(i));
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) held[i].unlock();
+        }
+        return applied;
+    }
+
+    // Both SKUs are write-locked, so neither quantity can change between the check and the update.
+    private boolean apply(StockTransfer transfer) {
+        int from = transfer.getFromSku(), to = transfer.getToSku(), quantity = transfer.getQuantity();
+        if (engine.getQuantityAvailable(from) < quantity) return false;
+        if ((long) engine.getQuantityAvailable(to) + quantity > store.getStockLimit(to)) return false;
+        engine.adjust(from, -quantity);
+        engine.adjust(to, quantity);
+        return true;
+    }
+
+    private void validate(StockTransfer transfer) {
+        int from = transfer.getFromSku(), to = transfer.getToSku();
+        if (!Objects.equals(store.getProductName(from), store.getProductName(to)))
+            throw new IllegalArgumentException("Transfers must move the same product");
+        if (store.getWarehouseCode(from) == store.getWarehouseCode(to))
+            throw new IllegalArgumentException("Transfers must be between different warehouses");
+    }
+}
@@ -0,0 +1,70 @@
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+// 10k concurrent clients, each on its own virtual thread, book seats through BookingService.
+// One client in ten also fires a duplicate retry with the same idempotency key; rejected
+// admissions back off and retry. Reports p50/p99 end-to-end booking latency.
+public class BookingLoadTest {
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int maxInFlight = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        Duration paymentLatency = Duration.ofMillis(args.length > 2 ? Integer.parseInt(args[2]) : 20);
+
+        LocalDate now = LocalDate.now();
+        CabinCrew crew = new CabinCrew(1, now, now, "Kigali International", "KGL", "Kigali", "RwandAir", "WB", "info@rwandair.com", "WB100", "Kigali", "Nairobi", 250.0, "J. Mugisha", "LIC-001", 12, "A. Uwase", "Purser", "Day");
+        SeatInventory seats = new SeatInventory();
+        seats.register(new SeatMap("WB100", (clients / 5 + 3) / 4 + 1, (clients / 5 + 5) / 6 + 1, (3 * clients / 5 + 9) / 10 + 1, 4, 6, 10));
+
+        long[] latencies = new long[clients];
+        Map<Long, String> ticketsBySeat = new ConcurrentHashMap<>();
+        Set<String> ticketNumbers = ConcurrentHashMap.newKeySet();
+        String[] classes = {"Economy", "Economy", "Economy", "Business", "First"};
+        long start = System.nanoTime();
+        try (BookingService service = new BookingService(seats, maxInFlight, paymentLatency);
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            service.registerFlight(crew);
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                clientThreads.execute(() -> {
+                    BookingRequest request = new BookingRequest("client-" + client, "WB100", "Passenger " + client, 30, client % 2 == 0 ? "Male" : "Female", "078" + client, classes[client % classes.length], "Card", 300.0);
+                    long began = System.nanoTime();
+                    Ticket ticket = bookWithRetry(service, request);
+                    if (client % 10 == 0 && bookWithRetry(service, request) != ticket) throw new IllegalStateException("Retry produced a second ticket");
+                    latencies[client] = System.nanoTime() - began;
+                    ticketNumbers.add(ticket.getTicketNumber());
+                    if (ticketsBySeat.put((long) client, ticket.getSeatNumber()) != null) throw new IllegalStateException("Duplicate client");
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (ticketNumbers.size() != clients) throw new IllegalStateException("Expected " + clients + " tickets, got " + ticketNumbers.size());
+        if (new HashSet<>(ticketsBySeat.values()).size() != clients) throw new IllegalStateException("Seats double-booked");
+        Arrays.sort(latencies);
+        System.out.println("=== Booking Load Test ===");
+        System.out.println("Clients: " + clients + ", Max In-Flight: " + maxInFlight + ", Payment Latency: " + paymentLatency.toMillis() + " ms");
+        System.out.printf("Elapsed: %.3f s, Throughput: %.0f bookings/sec%n", elapsed / 1e9, clients / (elapsed / 1e9));
+        System.out.printf("Latency p50: %.1f ms, p99: %.1f ms, max: %.1f ms%n", latencies[clients / 2] / 1e6, latencies[(int) (clients * 0.99)] / 1e6, latencies[clients - 1] / 1e6);
+    }
+
+    private static Ticket bookWithRetry(BookingService service, BookingRequest request) {
+        while (true) {
+            try {
+                return service.book(request);
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof RejectedExecutionException)) throw new IllegalStateException("Booking failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            }
+            try {
+                Thread.sleep(1 + ThreadLocalRandom.current().nextInt(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class BookingRequest {
+    private final String idempotencyKey;
+    private final String flightNumber;
+    private final String passengerName;
+    private final int age;
+    private final String gender;
+    private final String contact;
+    private final String travelClass;
+    private final String paymentMethod;
+    private final double amountPaid;
+
+    public BookingRequest(String idempotencyKey, String flightNumber, String passengerName, int age, String gender, String contact, String travelClass, String paymentMethod, double amountPaid) {
+        if (idempotencyKey == null || idempotencyKey.isEmpty()) throw new IllegalArgumentException("Idempotency key cannot be empty");
+        // Same rules as the Passenger/Booking/Payment constructors, checked before a seat is held or paid for.
+        if (age <= 0) throw new IllegalArgumentException("Age must be > 0");
+        if (!"Male".equals(gender) && !"Female".equals(gender))
+            throw new IllegalArgumentException("Gender must be Male or Female");
+        if (contact == null || contact.isEmpty()) throw new IllegalArgumentException("Contact cannot be empty");
+        if (!"Economy".equals(travelClass) && !"Business".equals(travelClass) && !"First".equals(travelClass))
+            throw new IllegalArgumentException("Class must be Economy/Business/First");
+        if (amountPaid <= 0) throw new IllegalArgumentException("Amount must be > 0");
+        if (paymentMethod == null || paymentMethod.isEmpty()) throw new IllegalArgumentException("Payment method cannot be empty");
+        this.idempotencyKey = idempotencyKey;
+        this.flightNumber = flightNumber;
+        this.passengerName = passengerName;
+        this.age = age;
+        this.gender = gender;
+        this.contact = contact;
+        this.travelClass = travelClass;
+        this.paymentMethod = paymentMethod;
+        this.amountPaid = amountPaid;
+    }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public String getFlightNumber() { return flightNumber; }
+    public String getPassengerName() { return passengerName; }
+    public int getAge() { return age; }
+    public String getGender() { return gender; }
+    public String getContact() { return contact; }
+    public String getTravelClass() { return travelClass; }
+    public String getPaymentMethod() { return paymentMethod; }
+    public double getAmountPaid() { return amountPaid; }
+}
+
+// Runs the Passenger -> Booking -> Payment -> Ticket flow for concurrent requests, one virtual
+// thread per request. At most maxInFlight requests are admitted at once; others are rejected
+// immediately. A retried request with the same idempotency key gets the original Ticket
+// (or waits for it) instead of a second one; failed attempts are forgotten so they can be retried.
+// A completed Ticket is remembered for the idempotency window, then dropped, so the map holds
+// only the requests in flight plus those completed within the window.
+class BookingService implements AutoCloseable {
+    private static final Duration DEFAULT_IDEMPOTENCY_WINDOW = Duration.ofMinutes(10);
+
+    private static final class Completed {
+        final String key;
+        final CompletableFuture<Ticket> result;
+        final long completedAt;
+
+        Completed(String key, CompletableFuture<Ticket> result, long completedAt) {
+            this.key = key;
+            this.result = result;
+            this.completedAt = completedAt;
+        }
+    }
+
+    private final ConcurrentHashMap<String, CabinCrew> crews = new ConcurrentHashMap<>();
+    private final SeatInventory seats;
+    private final Semaphore admission;
+    private final Duration paymentLatency;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<String, CompletableFuture<Ticket>> requests = new ConcurrentHashMap<>();
+    // In completion order, so expired entries are always at the head.
+    private final ConcurrentLinkedQueue<Completed> completed = new ConcurrentLinkedQueue<>();
+    private final long idempotencyWindowNanos;
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final TicketNumberAllocator ticketNumbers;
+
+    // paymentLatency simulates the blocking call to the payment provider.
+    public BookingService(SeatInventory seats, int maxInFlight, Duration paymentLatency) {
+        this(seats, maxInFlight, paymentLatency, null);
+    }
+
+    // Without an allocator, ticket numbers are "TK" + id and restart from TK1 on every run.
+    public BookingService(SeatInventory seats, int maxInFlight, Duration paymentLatency, TicketNumberAllocator ticketNumbers) {
+        this(seats, maxInFlight, paymentLatency, ticketNumbers, DEFAULT_IDEMPOTENCY_WINDOW);
+    }
+
+    public BookingService(SeatInventory seats, int maxInFlight, Duration paymentLatency, TicketNumberAllocator ticketNumbers, Duration idempotencyWindow) {
+        if (seats == null) throw new IllegalArgumentException("Seat inventory cannot be null");
+        if (maxInFlight <= 0) throw new IllegalArgumentException("Max in-flight requests must be > 0");
+        if (idempotencyWindow == null || idempotencyWindow.isNegative()) throw new IllegalArgumentException("Idempotency window must be >= 0");
+        this.idempotencyWindowNanos = idempotencyWindow.toNanos();
+        this.seats = seats;
+        this.admission = new Semaphore(maxInFlight);
+        this.paymentLatency = paymentLatency == null ? Duration.ZERO : paymentLatency;
+        this.ticketNumbers = ticketNumbers;
+    }
+
+    // Flight, pilot and crew data copied onto every Ticket for the flight.
+    public void registerFlight(CabinCrew crew) {
+        crews.put(crew.getFlightNumber(), crew);
+    }
+
+    public CompletableFuture<Ticket> submit(BookingRequest request) {
+        expire(System.nanoTime());
+        CompletableFuture<Ticket> result = new CompletableFuture<>();
+        CompletableFuture<Ticket> existing = requests.putIfAbsent(request.getIdempotencyKey(), result);
+        if (existing != null) return existing;
+        if (!admission.tryAcquire()) {
+            fail(request, result, new RejectedExecutionException("Booking service is at capacity"));
+            return result;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(process(request));
+                    completed.add(new Completed(request.getIdempotencyKey(), result, System.nanoTime()));
+                } catch (RuntimeException e) {
+                    fail(request, result, e);
+                } finally {
+                    admission.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            fail(request, result, e);
+        }
+        return result;
+    }
+
+    public Ticket book(BookingRequest request) throws InterruptedException, ExecutionException {
+        return submit(request).get();
+    }
+
+    private Ticket process(BookingRequest request) {
+        CabinCrew crew = crews.get(request.getFlightNumber());
+        if (crew == null) throw new IllegalArgumentException("Unknown flight " + request.getFlightNumber());
+        SeatMap seatMap = seats.get(request.getFlightNumber());
+        String seat = seatMap.claimNextFree(request.getTravelClass());
+        if (seat == null) throw new IllegalStateException(request.getTravelClass() + " is full on flight " + request.getFlightNumber());
+        try {
+            pay();
+            LocalDate now = LocalDate.now();
+            int id = nextId.incrementAndGet();
+            String ticketNumber = ticketNumbers == null ? "TK" + id : ticketNumbers.next();
+            return new Ticket(id, now, now, crew.getAirportName(), crew.getCode(), crew.getLocation(), crew.getAirlineName(), crew.getAirlineCode(), crew.getContactEmail(), crew.getFlightNumber(), crew.getDeparture(), crew.getDestination(), crew.getBaseFare(), crew.getPilotName(), crew.getLicenseNumber(), crew.getExperienceYears(), crew.getCrewName(), crew.getRole(), crew.getShift(), request.getPassengerName(), request.getAge(), request.getGender(), request.getContact(), now, seat, request.getTravelClass(), now, request.getPaymentMethod(), request.getAmountPaid(), ticketNumber, now);
+        } catch (RuntimeException e) {
+            seatMap.release(seat);
+            throw e;
+        }
+    }
+
+    private void pay() {
+        if (paymentLatency.isZero()) return;
+        try {
+            Thread.sleep(paymentLatency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during payment", e);
+        }
+    }
+
+    private void expire(long now) {
+        for (Completed head; (head = completed.peek()) != null && now - head.completedAt >= idempotencyWindowNanos; ) {
+            if (completed.remove(head)) requests.remove(head.key, head.result);
+        }
+    }
+
+    // Requests in flight plus completed Tickets still inside the idempotency window.
+    public int retainedRequests() {
+        return requests.size();
+    }
+
+    private void fail(BookingRequest request, CompletableFuture<Ticket> result, Throwable cause) {
+        requests.remove(request.getIdempotencyKey(), result);
+        result.completeExceptionally(cause);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,95 @@
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+// Rosters a synthetic multi-airline schedule with CrewRosterSolver at growing sizes, on a
+// single-worker pool and on the common pool, checks every rule on the result and reports
+// solve time and how many flights were left unstaffed.
+public class CrewRosterBenchmark {
+    private static final int REST_MINUTES = 10 * 60;
+
+    public static void main(String[] args) {
+        int airlines = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int maxFlightsPerDay = args.length > 2 ? Integer.parseInt(args[2]) : 400;
+
+        System.out.println("=== Crew Roster Benchmark ===");
+        System.out.println("Airlines: " + airlines + ", Days: " + days + ", Rest: " + REST_MINUTES / 60 + " h, Parallelism: " + ForkJoinPool.commonPool().getParallelism());
+        ForkJoinPool single = new ForkJoinPool(1);
+        for (int perDay = 25; perDay <= maxFlightsPerDay; perDay *= 2) {
+            Random random = new Random(perDay);
+            List<RosterSlot> schedule = new ArrayList<>();
+            List<Pilot> pilots = new ArrayList<>();
+            List<CabinCrew> crews = new ArrayList<>();
+            build(random, airlines, days, perDay, schedule, pilots, crews);
+
+            long singleNanos = time(new CrewRosterSolver(single, REST_MINUTES), schedule, pilots, crews);
+            CrewRosterSolver solver = new CrewRosterSolver(ForkJoinPool.commonPool(), REST_MINUTES);
+            long parallelNanos = time(solver, schedule, pilots, crews);
+            List<RosterAssignment> roster = solver.solve(schedule, pilots, crews);
+            int unstaffed = verify(roster);
+            System.out.printf("Flights: %7d  1 worker: %8.2f ms  pool: %8.2f ms  unstaffed: %d%n", schedule.size(), singleNanos / 1e6, parallelNanos / 1e6, unstaffed);
+        }
+        single.shutdown();
+    }
+
+    private static void build(Random random, int airlines, int days, int perDay, List<RosterSlot> schedule, List<Pilot> pilots, List<CabinCrew> crews) {
+        LocalDate start = LocalDate.now();
+        for (int a = 0; a < airlines; a++) {
+            String code = "A" + (char) ('A' + a);
+            Flight flight = new Flight(a + 1, start, start, "Kigali International", "KGL", "Kigali", "Airline " + a, code, "ops@airline" + a + ".com", code + "100", "Kigali", "Nairobi", 250.0);
+            // About one person per daily flight; with 10 h rest nobody can fly more than two a day.
+            for (int p = 0; p < perDay + 2; p++) {
+                pilots.add(new Pilot(p + 1, start, start, "Kigali International", "KGL", "Kigali", "Airline " + a, code, "ops@airline" + a + ".com", code + "100", "Kigali", "Nairobi", 250.0, "Pilot " + p, code + "-LIC-" + p, 2 + random.nextInt(25)));
+                crews.add(new CabinCrew(p + 1, start, start, "Kigali International", "KGL", "Kigali", "Airline " + a, code, "ops@airline" + a + ".com", code + "100", "Kigali", "Nairobi", 250.0, "Pilot " + p, code + "-LIC-" + p, 2, "Crew " + p, "Attendant", p % 2 == 0 ? "Day" : "Night"));
+            }
+            for (int d = 0; d < days; d++) {
+                LocalDate date = start.plusDays(d);
+                for (int f = 0; f < perDay; f++) {
+                    int departure = random.nextInt(24 * 60);
+                    String shift = departure >= 6 * 60 && departure < 18 * 60 ? "Day" : "Night";
+                    schedule.add(new RosterSlot(flight, date, departure, departure + 45 + random.nextInt(300), shift, 2 + random.nextInt(15)));
+                }
+            }
+        }
+    }
+
+    private static long time(CrewRosterSolver solver, List<RosterSlot> schedule, List<Pilot> pilots, List<CabinCrew> crews) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            solver.solve(schedule, pilots, crews);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    // Replays every person's duties in time order and checks experience, shift and rest rules.
+    private static int verify(List<RosterAssignment> roster) {
+        int unstaffed = 0;
+        Map<Object, List<RosterSlot>> duties = new IdentityHashMap<>();
+        for (RosterAssignment assignment : roster) {
+            if (!assignment.isStaffed()) {
+                unstaffed++;
+                continue;
+            }
+            RosterSlot slot = assignment.getSlot();
+            if (assignment.getPilot().getExperienceYears() < slot.getMinExperienceYears()) throw new IllegalStateException("Pilot under-qualified");
+            if (!assignment.getCrew().getShift().equals(slot.getShift())) throw new IllegalStateException("Crew on wrong shift");
+            duties.computeIfAbsent(assignment.getPilot(), k -> new ArrayList<>()).add(slot);
+            duties.computeIfAbsent(assignment.getCrew(), k -> new ArrayList<>()).add(slot);
+        }
+        for (List<RosterSlot> slots : duties.values()) {
+            slots.sort(Comparator.comparingLong(CrewRosterBenchmark::absoluteDeparture));
+            for (int i = 1; i < slots.size(); i++) {
+                long rested = absoluteDeparture(slots.get(i)) - (absoluteDeparture(slots.get(i - 1)) - slots.get(i - 1).getDepartureMinute() + slots.get(i - 1).getArrivalMinute());
+                if (rested < REST_MINUTES) throw new IllegalStateException("Rest gap of " + rested + " min");
+            }
+        }
+        return unstaffed;
+    }
+
+    private static long absoluteDeparture(RosterSlot slot) {
+        return slot.getDate().toEpochDay() * 1440 + slot.getDepartureMinute();
+    }
+}
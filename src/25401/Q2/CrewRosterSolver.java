@@ -0,0 +1,241 @@
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// One flight on the schedule to be crewed, with times in minutes from midnight of its date.
+class RosterSlot {
+    private final Flight flight;
+    private final LocalDate date;
+    private final int departureMinute;
+    private final int arrivalMinute;
+    private final String shift;
+    private final int minExperienceYears;
+
+    public RosterSlot(Flight flight, LocalDate date, int departureMinute, int arrivalMinute, String shift, int minExperienceYears) {
+        if (flight == null || date == null) throw new IllegalArgumentException("Flight and date cannot be null");
+        if (departureMinute < 0 || departureMinute >= 1440) throw new IllegalArgumentException("Departure must be within the day");
+        if (arrivalMinute <= departureMinute) throw new IllegalArgumentException("Arrival must be after departure");
+        if (!shift.equals("Day") && !shift.equals("Night")) throw new IllegalArgumentException("Shift must be Day or Night");
+        if (minExperienceYears < 2) throw new IllegalArgumentException("Experience must be >= 2 years");
+        this.flight = flight;
+        this.date = date;
+        this.departureMinute = departureMinute;
+        this.arrivalMinute = arrivalMinute;
+        this.shift = shift;
+        this.minExperienceYears = minExperienceYears;
+    }
+
+    public Flight getFlight() { return flight; }
+    public LocalDate getDate() { return date; }
+    public int getDepartureMinute() { return departureMinute; }
+    public int getArrivalMinute() { return arrivalMinute; }
+    public String getShift() { return shift; }
+    public int getMinExperienceYears() { return minExperienceYears; }
+}
+
+class RosterAssignment {
+    private final RosterSlot slot;
+    private final Pilot pilot;
+    private final CabinCrew crew;
+
+    RosterAssignment(RosterSlot slot, Pilot pilot, CabinCrew crew) {
+        this.slot = slot;
+        this.pilot = pilot;
+        this.crew = crew;
+    }
+
+    public RosterSlot getSlot() { return slot; }
+    public Pilot getPilot() { return pilot; }
+    public CabinCrew getCrew() { return crew; }
+    public boolean isStaffed() { return pilot != null && crew != null; }
+}
+
+// Assigns a Pilot and a CabinCrew member to every RosterSlot. Crew are pooled per airline
+// (airlineCode). Rules: pilot experienceYears >= the slot minimum, crew shift == slot shift,
+// and at least restMinutes between one arrival and the next departure of the same person.
+// The schedule is split into airline/day partitions solved greedily in parallel on a fork-join
+// pool, each assuming everyone starts the day rested. A per-airline pass then walks the days
+// in order, carrying each person's absolute next-free time across every earlier day (so rest
+// survives gap days and overnight duties), and re-solves any day where someone's rest is too short.
+class CrewRosterSolver {
+    private final ForkJoinPool pool;
+    private final int restMinutes;
+
+    public CrewRosterSolver(ForkJoinPool pool, int restMinutes) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+        if (restMinutes < 0) throw new IllegalArgumentException("Rest must be >= 0");
+        this.pool = pool;
+        this.restMinutes = restMinutes;
+    }
+
+    private static final class Partition {
+        final String airline;
+        final LocalDate date;
+        final List<RosterSlot> slots = new ArrayList<>();
+        Pilot[] pilots;
+        CabinCrew[] crews;
+        // Per pilot / crew member, relative to this day's midnight: earliest allowed departure,
+        // first departure actually rostered, and when they are next free after the day's duties.
+        int[] pilotStart, crewStart;
+        int[] pilotFirst, crewFirst;
+        int[] pilotFree, crewFree;
+        RosterAssignment[] result;
+
+        Partition(String airline, LocalDate date) {
+            this.airline = airline;
+            this.date = date;
+        }
+    }
+
+    public List<RosterAssignment> solve(List<RosterSlot> schedule, List<Pilot> pilots, List<CabinCrew> crews) {
+        Map<String, List<Pilot>> pilotsByAirline = new HashMap<>();
+        for (Pilot pilot : pilots) pilotsByAirline.computeIfAbsent(pilot.getAirlineCode(), k -> new ArrayList<>()).add(pilot);
+        Map<String, List<CabinCrew>> crewsByAirline = new HashMap<>();
+        for (CabinCrew crew : crews) crewsByAirline.computeIfAbsent(crew.getAirlineCode(), k -> new ArrayList<>()).add(crew);
+
+        Map<String, TreeMap<LocalDate, Partition>> byAirline = new HashMap<>();
+        for (RosterSlot slot : schedule) {
+            String airline = slot.getFlight().getAirlineCode();
+            byAirline.computeIfAbsent(airline, k -> new TreeMap<>())
+                     .computeIfAbsent(slot.getDate(), d -> new Partition(airline, d))
+                     .slots.add(slot);
+        }
+        List<Partition> partitions = new ArrayList<>();
+        for (TreeMap<LocalDate, Partition> days : byAirline.values()) {
+            for (Partition partition : days.values()) {
+                partition.slots.sort(Comparator.comparingInt(RosterSlot::getDepartureMinute));
+                // Least experienced first, so senior pilots stay free for demanding slots.
+                List<Pilot> airlinePilots = new ArrayList<>(pilotsByAirline.getOrDefault(partition.airline, List.of()));
+                airlinePilots.sort(Comparator.comparingInt(Pilot::getExperienceYears));
+                partition.pilots = airlinePilots.toArray(new Pilot[0]);
+                partition.crews = crewsByAirline.getOrDefault(partition.airline, List.of()).toArray(new CabinCrew[0]);
+                partition.pilotStart = new int[partition.pilots.length];
+                partition.crewStart = new int[partition.crews.length];
+                partitions.add(partition);
+            }
+        }
+
+        pool.invoke(new SolveTask(partitions, 0, partitions.size()));
+        pool.invoke(new RepairTask(new ArrayList<>(byAirline.values()), 0, byAirline.size()));
+
+        List<RosterAssignment> roster = new ArrayList<>(schedule.size());
+        for (Partition partition : partitions) roster.addAll(Arrays.asList(partition.result));
+        return roster;
+    }
+
+    @SuppressWarnings("serial")
+    private final class SolveTask extends RecursiveAction {
+        private final List<Partition> partitions;
+        private final int from, to;
+
+        SolveTask(List<Partition> partitions, int from, int to) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) solvePartition(partitions.get(from));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SolveTask(partitions, from, mid), new SolveTask(partitions, mid, to));
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class RepairTask extends RecursiveAction {
+        private final List<TreeMap<LocalDate, Partition>> airlines;
+        private final int from, to;
+
+        RepairTask(List<TreeMap<LocalDate, Partition>> airlines, int from, int to) {
+            this.airlines = airlines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) repairAirline(airlines.get(from));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RepairTask(airlines, from, mid), new RepairTask(airlines, mid, to));
+        }
+    }
+
+    private void repairAirline(TreeMap<LocalDate, Partition> days) {
+        Partition first = days.firstEntry().getValue();
+        // Minutes since the epoch at which each pilot / crew member is next free.
+        long[] pilotFreeAt = new long[first.pilots.length];
+        long[] crewFreeAt = new long[first.crews.length];
+        Arrays.fill(pilotFreeAt, Long.MIN_VALUE / 2);
+        Arrays.fill(crewFreeAt, Long.MIN_VALUE / 2);
+        for (Partition partition : days.values()) {
+            long midnight = partition.date.toEpochDay() * 1440;
+            boolean violated = false;
+            for (int p = 0; p < partition.pilots.length; p++) {
+                partition.pilotStart[p] = startMinute(pilotFreeAt[p], midnight);
+                violated |= partition.pilotStart[p] > partition.pilotFirst[p];
+            }
+            for (int c = 0; c < partition.crews.length; c++) {
+                partition.crewStart[c] = startMinute(crewFreeAt[c], midnight);
+                violated |= partition.crewStart[c] > partition.crewFirst[c];
+            }
+            if (violated) solvePartition(partition);
+            // A day that was not re-solved computed free times from a rested start, so keep
+            // whichever is later: rest still owed from before, or the end of this day's duties.
+            for (int p = 0; p < partition.pilots.length; p++) pilotFreeAt[p] = Math.max(pilotFreeAt[p], midnight + partition.pilotFree[p]);
+            for (int c = 0; c < partition.crews.length; c++) crewFreeAt[c] = Math.max(crewFreeAt[c], midnight + partition.crewFree[c]);
+        }
+    }
+
+    private static int startMinute(long freeAt, long midnight) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, freeAt - midnight));
+    }
+
+    private void solvePartition(Partition partition) {
+        int[] pilotFree = partition.pilotStart.clone();
+        int[] crewFree = partition.crewStart.clone();
+        int[] pilotFirst = new int[pilotFree.length];
+        int[] crewFirst = new int[crewFree.length];
+        Arrays.fill(pilotFirst, Integer.MAX_VALUE);
+        Arrays.fill(crewFirst, Integer.MAX_VALUE);
+        RosterAssignment[] result = new RosterAssignment[partition.slots.size()];
+        for (int i = 0; i < result.length; i++) {
+            RosterSlot slot = partition.slots.get(i);
+            int pilot = -1;
+            for (int p = 0; p < partition.pilots.length; p++) {
+                if (pilotFree[p] <= slot.getDepartureMinute() && partition.pilots[p].getExperienceYears() >= slot.getMinExperienceYears()) {
+                    pilot = p;
+                    break;
+                }
+            }
+            int crew = -1;
+            for (int c = 0; c < partition.crews.length; c++) {
+                if (crewFree[c] <= slot.getDepartureMinute() && partition.crews[c].getShift().equals(slot.getShift())) {
+                    crew = c;
+                    break;
+                }
+            }
+            if (pilot >= 0 && crew >= 0) {
+                pilotFirst[pilot] = Math.min(pilotFirst[pilot], slot.getDepartureMinute());
+                crewFirst[crew] = Math.min(crewFirst[crew], slot.getDepartureMinute());
+                pilotFree[pilot] = slot.getArrivalMinute() + restMinutes;
+                crewFree[crew] = slot.getArrivalMinute() + restMinutes;
+                result[i] = new RosterAssignment(slot, partition.pilots[pilot], partition.crews[crew]);
+            } else {
+                result[i] = new RosterAssignment(slot, null, null);
+            }
+        }
+        partition.pilotFirst = pilotFirst;
+        partition.crewFirst = crewFirst;
+        partition.pilotFree = pilotFree;
+        partition.crewFree = crewFree;
+        partition.result = result;
+    }
+}
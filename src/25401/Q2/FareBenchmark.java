@@ -0,0 +1,46 @@
+import java.time.LocalDate;
+import java.util.Random;
+
+// Reprices a schedule with Ticket.calculateFare() one ticket at a time and with the batch
+// FareCalculator over primitive arrays, and checks the results are bit-for-bit identical.
+public class FareBenchmark {
+    public static void main(String[] args) {
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        LocalDate now = LocalDate.now();
+        String[] classes = {"Economy", "Business", "First"};
+        Random random = new Random(11);
+        Ticket[] schedule = new Ticket[tickets];
+        double[] baseFares = new double[tickets];
+        byte[] classCodes = new byte[tickets];
+        for (int i = 0; i < tickets; i++) {
+            double baseFare = 50 + random.nextInt(200_000) / 100.0;
+            String travelClass = classes[random.nextInt(classes.length)];
+            schedule[i] = new Ticket(i + 1, now, now, "Kigali International", "KGL", "Kigali", "RwandAir", "WB", "info@rwandair.com", "WB" + (i % 500), "Kigali", "Nairobi", baseFare, "J. Mugisha", "LIC-001", 12, "A. Uwase", "Purser", "Day", "Passenger", 30, "Male", "0780000000", now, "1A", travelClass, now, "Card", baseFare, "TK" + i, now);
+            baseFares[i] = baseFare;
+            classCodes[i] = FareCalculator.encodeClass(travelClass);
+        }
+
+        double[] scalar = new double[tickets];
+        double[] batch = new double[tickets];
+        long scalarNanos = Long.MAX_VALUE, batchNanos = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < tickets; i++) scalar[i] = schedule[i].calculateFare();
+            scalarNanos = Math.min(scalarNanos, System.nanoTime() - start);
+            start = System.nanoTime();
+            FareCalculator.calculateFares(baseFares, classCodes, batch);
+            batchNanos = Math.min(batchNanos, System.nanoTime() - start);
+        }
+        for (int i = 0; i < tickets; i++) {
+            if (Double.doubleToRawLongBits(scalar[i]) != Double.doubleToRawLongBits(batch[i]))
+                throw new IllegalStateException("Fare mismatch for ticket " + (i + 1) + ": " + scalar[i] + " vs " + batch[i]);
+        }
+        System.out.println("=== Fare Benchmark ===");
+        System.out.println("Tickets: " + tickets + ", best of " + rounds + " rounds");
+        System.out.printf("calculateFare(): %.2f ms (%.1f ns/ticket)%n", scalarNanos / 1e6, (double) scalarNanos / tickets);
+        System.out.printf("Batch arrays:    %.2f ms (%.1f ns/ticket)%n", batchNanos / 1e6, (double) batchNanos / tickets);
+        System.out.println("Results identical: true");
+    }
+}
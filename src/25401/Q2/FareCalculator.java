@@ -0,0 +1,49 @@
+// Batch version of Ticket.calculateFare() over primitive arrays. Travel classes are encoded
+// once as bytes, and the loop is straight-line arithmetic over primitive arrays with a single
+// conditional select for the discount. The expression is the same as calculateFare() and runs
+// in the same order, so every result is bit-for-bit identical, infinite fares included.
+class FareCalculator {
+    static final byte ECONOMY = 0;
+    static final byte BUSINESS = 1;
+    static final byte FIRST = 2;
+
+    static final double TAX_RATE = 0.15;
+    static final double DISCOUNT_RATE = 0.1;
+
+    private FareCalculator() { }
+
+    public static byte encodeClass(String travelClass) {
+        switch (travelClass) {
+            case "Economy": return ECONOMY;
+            case "Business": return BUSINESS;
+            case "First": return FIRST;
+            default: throw new IllegalArgumentException("Class must be Economy/Business/First");
+        }
+    }
+
+    public static void calculateFares(double[] baseFares, byte[] classCodes, double[] fares) {
+        int n = baseFares.length;
+        if (classCodes.length != n || fares.length < n) throw new IllegalArgumentException("Array lengths do not match");
+        for (int i = 0; i < n; i++) {
+            if (classCodes[i] < ECONOMY || classCodes[i] > FIRST) throw new IllegalArgumentException("Unknown class code: " + classCodes[i]);
+        }
+        for (int i = 0; i < n; i++) fares[i] = calculateFare(baseFares[i], classCodes[i]);
+    }
+
+    public static double calculateFare(double baseFare, byte classCode) {
+        double discount = classCode == ECONOMY ? 0 : baseFare * DISCOUNT_RATE;
+        return baseFare + baseFare * TAX_RATE - discount;
+    }
+
+    public static double[] calculateFares(Ticket[] tickets) {
+        double[] baseFares = new double[tickets.length];
+        byte[] classCodes = new byte[tickets.length];
+        for (int i = 0; i < tickets.length; i++) {
+            baseFares[i] = tickets[i].getBaseFare();
+            classCodes[i] = encodeClass(tickets[i].getTravelClass());
+        }
+        double[] fares = new double[tickets.length];
+        calculateFares(baseFares, classCodes, fares);
+        return fares;
+    }
+}
@@ -0,0 +1,147 @@
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Canonical, shared Airport, Airline and flight (CabinCrew: flight + pilot + crew) instances,
+// keyed by airport code, airline code and flight number. A flight's Strings are taken from the
+// canonical Airport and Airline, so each distinct value is held once however many tickets
+// reference it. Dates and payment methods are interned too. Registering data that conflicts
+// with what is already held for the same key is rejected.
+class FlightRegistry {
+    private final ConcurrentHashMap<String, Airport> airports = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Airline> airlines = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CabinCrew> flights = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LocalDate, LocalDate> dates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> paymentMethods = new ConcurrentHashMap<>();
+
+    public Airport airport(Airport airport) {
+        Airport canonical = airports.computeIfAbsent(airport.getCode(), code -> new Airport(airport.getId(), airport.getCreatedDate(), airport.getUpdatedDate(), airport.getAirportName(), code, airport.getLocation()));
+        if (!canonical.getAirportName().equals(airport.getAirportName()) || !canonical.getLocation().equals(airport.getLocation()))
+            throw new IllegalArgumentException("Conflicting data for airport " + airport.getCode());
+        return canonical;
+    }
+
+    public Airline airline(Airline airline) {
+        Airport home = airport(airline);
+        Airline canonical = airlines.computeIfAbsent(airline.getAirlineCode(), code -> new Airline(airline.getId(), airline.getCreatedDate(), airline.getUpdatedDate(), home.getAirportName(), home.getCode(), home.getLocation(), airline.getAirlineName(), code, airline.getContactEmail()));
+        if (!canonical.getAirlineName().equals(airline.getAirlineName()) || !canonical.getContactEmail().equals(airline.getContactEmail()))
+            throw new IllegalArgumentException("Conflicting data for airline " + airline.getAirlineCode());
+        return canonical;
+    }
+
+    public CabinCrew flight(CabinCrew crew) {
+        CabinCrew canonical = flights.get(crew.getFlightNumber());
+        if (canonical == null) {
+            Airport airport = airport(crew);
+            Airline airline = airline(crew);
+            canonical = flights.computeIfAbsent(crew.getFlightNumber(), number -> new CabinCrew(crew.getId(), crew.getCreatedDate(), crew.getUpdatedDate(), airport.getAirportName(), airport.getCode(), airport.getLocation(), airline.getAirlineName(), airline.getAirlineCode(), airline.getContactEmail(), number, crew.getDeparture(), crew.getDestination(), crew.getBaseFare(), crew.getPilotName(), crew.getLicenseNumber(), crew.getExperienceYears(), crew.getCrewName(), crew.getRole(), crew.getShift()));
+        }
+        if (canonical != crew && !sameFlight(canonical, crew))
+            throw new IllegalArgumentException("Conflicting data for flight " + crew.getFlightNumber());
+        return canonical;
+    }
+
+    public Airport getAirport(String code) { return airports.get(code); }
+    public Airline getAirline(String airlineCode) { return airlines.get(airlineCode); }
+    public CabinCrew getFlight(String flightNumber) { return flights.get(flightNumber); }
+    public int flightCount() { return flights.size(); }
+
+    LocalDate date(LocalDate date) {
+        if (date == null) return null;
+        LocalDate canonical = dates.putIfAbsent(date, date);
+        return canonical == null ? date : canonical;
+    }
+
+    String paymentMethod(String method) {
+        String canonical = paymentMethods.putIfAbsent(method, method);
+        return canonical == null ? method : canonical;
+    }
+
+    private static boolean sameFlight(CabinCrew a, CabinCrew b) {
+        return a.getCode().equals(b.getCode()) && a.getAirportName().equals(b.getAirportName()) && a.getLocation().equals(b.getLocation())
+            && a.getAirlineCode().equals(b.getAirlineCode()) && a.getAirlineName().equals(b.getAirlineName()) && a.getContactEmail().equals(b.getContactEmail())
+            && a.getDeparture().equals(b.getDeparture()) && a.getDestination().equals(b.getDestination()) && a.getBaseFare() == b.getBaseFare()
+            && a.getPilotName().equals(b.getPilotName()) && a.getLicenseNumber().equals(b.getLicenseNumber()) && a.getExperienceYears() == b.getExperienceYears()
+            && a.getCrewName().equals(b.getCrewName()) && a.getRole().equals(b.getRole()) && a.getShift().equals(b.getShift());
+    }
+}
+
+// A Ticket that holds only its passenger, booking and payment fields plus one reference to the
+// shared flight from a FlightRegistry. Validation and calculateFare() match Ticket.
+final class CompactTicket {
+    private static final String[] CLASSES = {"Economy", "Business", "First"};
+
+    private final CabinCrew flight;
+    private final int id;
+    private final LocalDate createdDate;
+    private final LocalDate updatedDate;
+    private final String passengerName;
+    private final int age;
+    private final boolean female;
+    private final byte travelClass;
+    private final String contact;
+    private final LocalDate bookingDate;
+    private final String seatNumber;
+    private final LocalDate paymentDate;
+    private final String paymentMethod;
+    private final double amountPaid;
+    private final String ticketNumber;
+    private final LocalDate issueDate;
+
+    public CompactTicket(FlightRegistry registry, CabinCrew flight, int id, LocalDate createdDate, LocalDate updatedDate, String passengerName, int age, String gender, String contact, LocalDate bookingDate, String seatNumber, String travelClass, LocalDate paymentDate, String paymentMethod, double amountPaid, String ticketNumber, LocalDate issueDate) {
+        if (id <= 0) throw new IllegalArgumentException("ID must be > 0");
+        if (createdDate == null || updatedDate == null) throw new IllegalArgumentException("Dates cannot be null");
+        if (age <= 0) throw new IllegalArgumentException("Age must be > 0");
+        if (!gender.equals("Male") && !gender.equals("Female"))
+            throw new IllegalArgumentException("Gender must be Male or Female");
+        if (!travelClass.equals("Economy") && !travelClass.equals("Business") && !travelClass.equals("First"))
+            throw new IllegalArgumentException("Class must be Economy/Business/First");
+        if (amountPaid <= 0) throw new IllegalArgumentException("Amount must be > 0");
+        if (paymentMethod.isEmpty()) throw new IllegalArgumentException("Payment method cannot be empty");
+        this.flight = registry.flight(flight);
+        this.id = id;
+        this.createdDate = registry.date(createdDate);
+        this.updatedDate = registry.date(updatedDate);
+        this.passengerName = passengerName;
+        this.age = age;
+        this.female = gender.equals("Female");
+        this.travelClass = FareCalculator.encodeClass(travelClass);
+        this.contact = contact;
+        this.bookingDate = registry.date(bookingDate);
+        this.seatNumber = seatNumber;
+        this.paymentDate = registry.date(paymentDate);
+        this.paymentMethod = registry.paymentMethod(paymentMethod);
+        this.amountPaid = amountPaid;
+        this.ticketNumber = ticketNumber;
+        this.issueDate = registry.date(issueDate);
+    }
+
+    public static CompactTicket of(FlightRegistry registry, Ticket ticket) {
+        return new CompactTicket(registry, ticket, ticket.getId(), ticket.getCreatedDate(), ticket.getUpdatedDate(), ticket.getPassengerName(), ticket.getAge(), ticket.getGender(), ticket.getContact(), ticket.getBookingDate(), ticket.getSeatNumber(), ticket.getTravelClass(), ticket.getPaymentDate(), ticket.getPaymentMethod(), ticket.getAmountPaid(), ticket.getTicketNumber(), ticket.getIssueDate());
+    }
+
+    public Ticket toTicket() {
+        CabinCrew f = flight;
+        return new Ticket(id, createdDate, updatedDate, f.getAirportName(), f.getCode(), f.getLocation(), f.getAirlineName(), f.getAirlineCode(), f.getContactEmail(), f.getFlightNumber(), f.getDeparture(), f.getDestination(), f.getBaseFare(), f.getPilotName(), f.getLicenseNumber(), f.getExperienceYears(), f.getCrewName(), f.getRole(), f.getShift(), passengerName, age, getGender(), contact, bookingDate, seatNumber, getTravelClass(), paymentDate, paymentMethod, amountPaid, ticketNumber, issueDate);
+    }
+
+    public double calculateFare() {
+        return FareCalculator.calculateFare(flight.getBaseFare(), travelClass);
+    }
+
+    public CabinCrew getFlight() { return flight; }
+    public int getId() { return id; }
+    public LocalDate getCreatedDate() { return createdDate; }
+    public LocalDate getUpdatedDate() { return updatedDate; }
+    public String getPassengerName() { return passengerName; }
+    public int getAge() { return age; }
+    public String getGender() { return female ? "Female" : "Male"; }
+    public String getContact() { return contact; }
+    public LocalDate getBookingDate() { return bookingDate; }
+    public String getSeatNumber() { return seatNumber; }
+    public String getTravelClass() { return CLASSES[travelClass]; }
+    public LocalDate getPaymentDate() { return paymentDate; }
+    public String getPaymentMethod() { return paymentMethod; }
+    public double getAmountPaid() { return amountPaid; }
+    public String getTicketNumber() { return ticketNumber; }
+    public LocalDate getIssueDate() { return issueDate; }
+}
@@ -0,0 +1,82 @@
+import java.time.LocalDate;
+import java.util.*;
+
+// Zipf-skewed searches over many route/date pairs while bookings fill cabins and fares change.
+// Reports cache hit/miss/eviction counters and checks cached answers against a linear scan of
+// every scheduled flight, with no cache involved.
+public class FlightSearchBenchmark {
+    public static void main(String[] args) {
+        int routes = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int searches = args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000;
+        int capacity = args.length > 3 ? Integer.parseInt(args[3]) : 5_000;
+
+        LocalDate today = LocalDate.of(2026, 1, 1);
+        FlightSearchService service = new FlightSearchService(capacity);
+        List<SeatMap> seatMaps = new ArrayList<>();
+        List<Flight> flights = new ArrayList<>();
+        List<LocalDate> dates = new ArrayList<>();
+        Random random = new Random(5);
+        int id = 1;
+        for (int r = 0; r < routes; r++) {
+            for (int d = 0; d < days; d++) {
+                for (int f = 0; f < 2; f++) {
+                    String flightNumber = "WB" + id;
+                    Flight flight = new Flight(id, today, today, "Kigali International", "KGL", "Kigali", "RwandAir", "WB", "info@rwandair.com", flightNumber, "CITY" + r, "CITY" + (r + 1), 100 + random.nextInt(900));
+                    SeatMap seats = new SeatMap(flightNumber, 1, 2, 5, 2, 2, 4);
+                    service.addFlight(flight, today.plusDays(d), seats);
+                    seatMaps.add(seats);
+                    flights.add(flight);
+                    dates.add(today.plusDays(d));
+                    id++;
+                }
+            }
+        }
+
+        int keys = routes * days;
+        double[] cdf = new double[keys];
+        double total = 0;
+        for (int k = 0; k < keys; k++) cdf[k] = total += 1.0 / (k + 1);
+        String[] classes = SeatMap.CLASSES;
+        long start = System.nanoTime(), checking = 0;
+        for (int i = 0; i < searches; i++) {
+            int k = Arrays.binarySearch(cdf, random.nextDouble() * total);
+            k = k < 0 ? -k - 1 : k;
+            int route = k % routes, day = k / routes;
+            String travelClass = classes[random.nextInt(classes.length)];
+            List<Flight> result = service.search("CITY" + route, "CITY" + (route + 1), today.plusDays(day), travelClass);
+            if (i % 1_000 == 0) {
+                long checkStart = System.nanoTime();
+                if (!result.equals(scan(flights, dates, seatMaps, "CITY" + route, "CITY" + (route + 1), today.plusDays(day), travelClass)))
+                    throw new IllegalStateException("Stale cached search result");
+                checking += System.nanoTime() - checkStart;
+                int f = random.nextInt(seatMaps.size());
+                seatMaps.get(f).claimNextFree(classes[random.nextInt(classes.length)]);
+            }
+            if (i % 50_000 == 0) {
+                int f = random.nextInt(flights.size());
+                Flight old = flights.get(f);
+                Flight repriced = new Flight(old.getId(), today, today, old.getAirportName(), old.getCode(), old.getLocation(), old.getAirlineName(), old.getAirlineCode(), old.getContactEmail(), old.getFlightNumber(), old.getDeparture(), old.getDestination(), old.getBaseFare() * 1.05);
+                service.updateFlight(seatMaps.get(f), repriced);
+                flights.set(f, repriced);
+            }
+        }
+        long elapsed = System.nanoTime() - start - checking;
+        System.out.println("=== Flight Search Cache Benchmark ===");
+        System.out.println("Route/date keys: " + keys + " x " + classes.length + " classes, Cache capacity: " + capacity);
+        System.out.printf("Searches: %d in %.3f s (%.0f/sec)%n", searches, elapsed / 1e9, searches / (elapsed / 1e9));
+        System.out.println(service.getCache().stats());
+    }
+
+    // Reference answer: every flight on the route and date with a free seat in the class, cheapest first.
+    private static List<Flight> scan(List<Flight> flights, List<LocalDate> dates, List<SeatMap> seatMaps, String departure, String destination, LocalDate date, String travelClass) {
+        List<Flight> result = new ArrayList<>();
+        for (int f = 0; f < flights.size(); f++) {
+            Flight flight = flights.get(f);
+            if (flight.getDeparture().equals(departure) && flight.getDestination().equals(destination) && dates.get(f).equals(date) && seatMaps.get(f).getAvailableSeats(travelClass) > 0)
+                result.add(flight);
+        }
+        result.sort(Comparator.comparingDouble(Flight::getBaseFare));
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+import java.time.LocalDate;
+import java.util.*;
+
+// Flight search by departure, destination, date and travel class, fronted by a TinyLfuCache.
+// A result lists the flights on that route and date that still have a seat in the class,
+// cheapest first. Entries are invalidated precisely: a fare change drops the flight's three
+// class entries for its route and date, and a cabin filling up or freeing its first seat
+// drops just that class's entry.
+class FlightSearchService implements SeatMap.AvailabilityListener {
+    private static final class ScheduledFlight {
+        Flight flight;
+        final LocalDate date;
+        final SeatMap seats;
+
+        ScheduledFlight(Flight flight, LocalDate date, SeatMap seats) {
+            this.flight = flight;
+            this.date = date;
+            this.seats = seats;
+        }
+    }
+
+    private final TinyLfuCache<String, List<Flight>> cache;
+    private final Map<String, List<ScheduledFlight>> schedule = new HashMap<>();
+    private final Map<SeatMap, ScheduledFlight> bySeatMap = new IdentityHashMap<>();
+    // Bumped by every invalidation; a search only caches its result if no invalidation ran meanwhile.
+    private long generation;
+
+    public FlightSearchService(int cacheCapacity) {
+        this.cache = new TinyLfuCache<>(cacheCapacity);
+    }
+
+    public synchronized void addFlight(Flight flight, LocalDate date, SeatMap seats) {
+        if (!flight.getFlightNumber().equals(seats.getFlightNumber())) throw new IllegalArgumentException("Seat map is for flight " + seats.getFlightNumber());
+        ScheduledFlight scheduled = new ScheduledFlight(flight, date, seats);
+        schedule.computeIfAbsent(routeKey(flight.getDeparture(), flight.getDestination(), date), k -> new ArrayList<>()).add(scheduled);
+        bySeatMap.put(seats, scheduled);
+        seats.addListener(this);
+        invalidateRoute(flight.getDeparture(), flight.getDestination(), date);
+    }
+
+    // Replaces a flight (e.g. with a new baseFare) on the same seat map and date.
+    public synchronized void updateFlight(SeatMap seats, Flight replacement) {
+        ScheduledFlight scheduled = bySeatMap.get(seats);
+        if (scheduled == null) throw new IllegalArgumentException("Unknown seat map for flight " + seats.getFlightNumber());
+        Flight previous = scheduled.flight;
+        if (!previous.getDeparture().equals(replacement.getDeparture()) || !previous.getDestination().equals(replacement.getDestination()))
+            throw new IllegalArgumentException("A flight update cannot change its route");
+        scheduled.flight = replacement;
+        invalidateRoute(previous.getDeparture(), previous.getDestination(), scheduled.date);
+    }
+
+    public List<Flight> search(String departure, String destination, LocalDate date, String travelClass) {
+        String key = routeKey(departure, destination, date) + '|' + travelClass;
+        List<Flight> cached = cache.get(key);
+        if (cached != null) return cached;
+        long startGeneration;
+        List<Flight> result = new ArrayList<>();
+        synchronized (this) {
+            startGeneration = generation;
+            List<ScheduledFlight> flights = schedule.getOrDefault(routeKey(departure, destination, date), List.of());
+            for (ScheduledFlight scheduled : flights) {
+                if (scheduled.seats.getAvailableSeats(travelClass) > 0) result.add(scheduled.flight);
+            }
+        }
+        result.sort(Comparator.comparingDouble(Flight::getBaseFare));
+        result = Collections.unmodifiableList(result);
+        synchronized (this) {
+            if (generation == startGeneration) cache.put(key, result);
+        }
+        return result;
+    }
+
+    @Override
+    public void onAvailabilityChanged(SeatMap map, String travelClass, boolean available) {
+        synchronized (this) {
+            ScheduledFlight scheduled = bySeatMap.get(map);
+            if (scheduled == null) return;
+            generation++;
+            cache.invalidate(routeKey(scheduled.flight.getDeparture(), scheduled.flight.getDestination(), scheduled.date) + '|' + travelClass);
+        }
+    }
+
+    public TinyLfuCache<String, List<Flight>> getCache() { return cache; }
+
+    private void invalidateRoute(String departure, String destination, LocalDate date) {
+        generation++;
+        String route = routeKey(departure, destination, date);
+        for (String travelClass : SeatMap.CLASSES) cache.invalidate(route + '|' + travelClass);
+    }
+
+    private static String routeKey(String departure, String destination, LocalDate date) {
+        return departure + '|' + destination + '|' + date;
+    }
+}
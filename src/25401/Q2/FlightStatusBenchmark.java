@@ -0,0 +1,93 @@
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Subscribes 100k passengers and crew across many flights to a FlightStatusHub, with a small
+// share of deliberately slow consumers, publishes a burst of status events per flight and
+// reports delivery throughput, end-to-end latency of the regular subscribers, drops and the
+// worst per-subscriber backlog.
+public class FlightStatusBenchmark {
+    public static void main(String[] args) throws Exception {
+        int subscribers = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int flights = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int eventsPerFlight = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int slowEvery = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        long slowMillis = args.length > 4 ? Long.parseLong(args[4]) : 200;
+        int buffer = 8;
+
+        long[] latencies = new long[subscribers * eventsPerFlight];
+        AtomicInteger samples = new AtomicInteger();
+        LongAdder delivered = new LongAdder();
+        LongAdder reached = new LongAdder();
+        LongAdder failed = new LongAdder();
+        CountDownLatch completed = new CountDownLatch(subscribers);
+        int maxLag = 0;
+        long elapsed;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        FlightStatusHub hub = new FlightStatusHub(executor, buffer);
+        try {
+            for (int s = 0; s < subscribers; s++) {
+                boolean slow = s % slowEvery == 0;
+                hub.subscribe("WB" + s % flights, new FlightStatusSubscriber(buffer) {
+                    @Override
+                    protected void onStatus(FlightStatusEvent event) {
+                        long latency = System.nanoTime() - event.getPublishedNanos();
+                        delivered.increment();
+                        if (slow) {
+                            pause(slowMillis);
+                            return;
+                        }
+                        int i = samples.getAndIncrement();
+                        if (i < latencies.length) latencies[i] = latency;
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        super.onError(error);
+                        failed.increment();
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onComplete() { completed.countDown(); }
+                });
+            }
+
+            FlightStatusEvent.Type[] types = FlightStatusEvent.Type.values();
+            long start = System.nanoTime();
+            for (int e = 0; e < eventsPerFlight; e++) {
+                for (int f = 0; f < flights; f++) reached.add(hub.publish(new FlightStatusEvent("WB" + f, types[e % types.length], "Gate " + (1 + e % 30))));
+                for (int f = 0; f < flights; f++) maxLag = Math.max(maxLag, hub.getMaxLag("WB" + f));
+            }
+            hub.close();
+            completed.await();
+            elapsed = System.nanoTime() - start;
+
+            int n = Math.min(samples.get(), latencies.length);
+            long[] sorted = Arrays.copyOf(latencies, n);
+            Arrays.sort(sorted);
+            long offered = hub.getPublished() * subscribers / flights;
+            if (failed.sum() > 0) throw new IllegalStateException(failed.sum() + " subscriptions failed");
+            if (delivered.sum() + hub.getDropped() != offered) throw new IllegalStateException("Lost events: " + (offered - delivered.sum() - hub.getDropped()));
+            if (reached.sum() != delivered.sum()) throw new IllegalStateException("publish() reported " + reached.sum() + " deliveries, subscribers saw " + delivered.sum());
+
+            System.out.println("=== Flight Status Fan-out Benchmark ===");
+            System.out.println("Subscribers: " + subscribers + ", Flights: " + flights + ", Events/flight: " + eventsPerFlight + ", Slow: 1 in " + slowEvery + " (" + slowMillis + " ms/event), Buffer: " + buffer);
+            System.out.printf("Elapsed: %.3f s, Deliveries: %d (%.0f/sec)%n", elapsed / 1e9, delivered.sum(), delivered.sum() / (elapsed / 1e9));
+            System.out.printf("Latency (regular subscribers) p50: %.2f ms, p99: %.2f ms, max: %.2f ms%n", sorted[n / 2] / 1e6, sorted[(int) (n * 0.99)] / 1e6, sorted[n - 1] / 1e6);
+            System.out.println("Dropped for slow subscribers: " + hub.getDropped() + ", Max backlog per subscriber: " + maxLag + " (buffer " + buffer + ")");
+        } finally {
+            hub.close();
+            executor.shutdown();
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+class FlightStatusEvent {
+    enum Type { GATE_CHANGE, DELAY, BOARDING, CANCELLED }
+
+    private final String flightNumber;
+    private final Type type;
+    private final String detail;
+    private final long publishedNanos;
+
+    public FlightStatusEvent(String flightNumber, Type type, String detail) {
+        if (flightNumber == null || flightNumber.isEmpty()) throw new IllegalArgumentException("Flight number cannot be empty");
+        if (type == null) throw new IllegalArgumentException("Type cannot be null");
+        this.flightNumber = flightNumber;
+        this.type = type;
+        this.detail = detail;
+        this.publishedNanos = System.nanoTime();
+    }
+
+    public String getFlightNumber() { return flightNumber; }
+    public Type getType() { return type; }
+    public String getDetail() { return detail; }
+    public long getPublishedNanos() { return publishedNanos; }
+}
+
+// Fans flight status events out to everyone subscribed to that flight (passengers, crew) over
+// java.util.concurrent.Flow. Each flight has its own SubmissionPublisher; every subscriber gets
+// a bounded buffer and is only sent what it has requested. Events are offered without waiting:
+// if a subscriber's buffer is full, the event is dropped for that subscriber alone and counted,
+// so one slow consumer neither delays the publisher or the others nor makes the hub buffer
+// without limit.
+class FlightStatusHub implements AutoCloseable {
+    private final ConcurrentHashMap<String, SubmissionPublisher<FlightStatusEvent>> publishers = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int bufferCapacity;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public FlightStatusHub(Executor executor, int bufferCapacity) {
+        if (executor == null) throw new IllegalArgumentException("Executor cannot be null");
+        if (bufferCapacity <= 0) throw new IllegalArgumentException("Buffer capacity must be > 0");
+        this.executor = executor;
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public void subscribe(String flightNumber, Flow.Subscriber<? super FlightStatusEvent> subscriber) {
+        publishers.computeIfAbsent(flightNumber, k -> new SubmissionPublisher<>(executor, bufferCapacity)).subscribe(subscriber);
+    }
+
+    public void subscribe(Passenger passenger, Flow.Subscriber<? super FlightStatusEvent> subscriber) {
+        subscribe(passenger.getFlightNumber(), subscriber);
+    }
+
+    // Returns the number of subscribers whose buffer accepted the event, i.e. who will receive it.
+    public int publish(FlightStatusEvent event) {
+        SubmissionPublisher<FlightStatusEvent> publisher = publishers.get(event.getFlightNumber());
+        if (publisher == null) return 0;
+        published.increment();
+        int subscribers = publisher.getNumberOfSubscribers();
+        int lag = publisher.offer(event, (subscriber, item) -> {
+            dropped.increment();
+            return false;
+        });
+        return lag < 0 ? subscribers + lag : subscribers;
+    }
+
+    public int getSubscriberCount(String flightNumber) {
+        SubmissionPublisher<FlightStatusEvent> publisher = publishers.get(flightNumber);
+        return publisher == null ? 0 : publisher.getNumberOfSubscribers();
+    }
+
+    // Largest number of events waiting for any one subscriber of the flight.
+    public int getMaxLag(String flightNumber) {
+        SubmissionPublisher<FlightStatusEvent> publisher = publishers.get(flightNumber);
+        return publisher == null ? 0 : publisher.estimateMaximumLag();
+    }
+
+    public long getPublished() { return published.sum(); }
+    public long getDropped() { return dropped.sum(); }
+
+    // Completes every subscription once its buffered events have been delivered.
+    @Override
+    public void close() {
+        for (SubmissionPublisher<FlightStatusEvent> publisher : publishers.values()) publisher.close();
+    }
+}
+
+// Subscriber that keeps at most `window` events requested at a time and tops demand back up
+// after every half window, so the publisher only buffers what the consumer is ready for.
+// A subscription that fails (for example because onStatus threw) keeps its error in getError().
+abstract class FlightStatusSubscriber implements Flow.Subscriber<FlightStatusEvent> {
+    private final int window;
+    private Flow.Subscription subscription;
+    private int sinceRequest;
+    private volatile Throwable error;
+
+    protected FlightStatusSubscriber(int window) {
+        if (window <= 0) throw new IllegalArgumentException("Window must be > 0");
+        this.window = window;
+    }
+
+    protected abstract void onStatus(FlightStatusEvent event);
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(window);
+    }
+
+    @Override
+    public void onNext(FlightStatusEvent event) {
+        onStatus(event);
+        if (++sinceRequest >= (window + 1) / 2) {
+            subscription.request(sinceRequest);
+            sinceRequest = 0;
+        }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        this.error = error;
+    }
+
+    public Throwable getError() { return error; }
+
+    @Override
+    public void onComplete() { }
+}
@@ -0,0 +1,64 @@
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+
+// Heap footprint of Tickets carrying their own copies of every airport/airline/flight/crew
+// field versus CompactTickets sharing canonical flights from a FlightRegistry. Legacy tickets
+// are measured on a sample and scaled, since millions of them do not fit a default heap.
+// Run with -Xmx3g for the default 5M tickets.
+public class FlyweightTicketBenchmark {
+    public static void main(String[] args) {
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int legacySample = Math.min(tickets, args.length > 1 ? Integer.parseInt(args[1]) : 500_000);
+        int flights = 2_000;
+
+        long baseline = usedHeap();
+        Ticket[] legacy = new Ticket[legacySample];
+        for (int i = 0; i < legacySample; i++) legacy[i] = ticket(i + 1, flights);
+        long legacyBytes = usedHeap() - baseline;
+        double legacyPerTicket = (double) legacyBytes / legacySample;
+
+        FlightRegistry registry = new FlightRegistry();
+        for (int i = 0; i < Math.min(legacySample, 10_000); i++) {
+            CompactTicket compact = CompactTicket.of(registry, legacy[i]);
+            if (Double.doubleToRawLongBits(compact.calculateFare()) != Double.doubleToRawLongBits(legacy[i].calculateFare()))
+                throw new IllegalStateException("Fare mismatch for " + legacy[i].getTicketNumber());
+            Ticket restored = compact.toTicket();
+            if (!restored.getPilotName().equals(legacy[i].getPilotName()) || !restored.getTravelClass().equals(legacy[i].getTravelClass()) || !restored.getContact().equals(legacy[i].getContact()))
+                throw new IllegalStateException("Round trip mismatch for " + legacy[i].getTicketNumber());
+        }
+        legacy = null;
+
+        registry = new FlightRegistry();
+        baseline = usedHeap();
+        CompactTicket[] compact = new CompactTicket[tickets];
+        for (int i = 0; i < tickets; i++) compact[i] = CompactTicket.of(registry, ticket(i + 1, flights));
+        long compactBytes = usedHeap() - baseline;
+        double compactPerTicket = (double) compactBytes / tickets;
+
+        System.out.println("=== Flyweight Ticket Benchmark ===");
+        System.out.println("Tickets: " + tickets + ", Flights: " + registry.flightCount() + ", Legacy sample: " + legacySample);
+        System.out.printf("Ticket objects:  %.0f bytes/ticket, %.1f MB for %d tickets%s%n", legacyPerTicket, legacyPerTicket * tickets / 1048576.0, tickets, legacySample < tickets ? " (scaled)" : "");
+        System.out.printf("CompactTickets:  %.0f bytes/ticket, %.1f MB for %d tickets%n", compactPerTicket, compactBytes / 1048576.0, tickets);
+        System.out.printf("Heap saving: %.1f%%%n", 100.0 * (legacyPerTicket - compactPerTicket) / legacyPerTicket);
+        System.out.println("Fares and round trips identical: true (" + compact.length + " held)");
+    }
+
+    // Each field is a fresh String, as it would be after reading from Scanner or a file.
+    private static Ticket ticket(int id, int flights) {
+        LocalDate now = LocalDate.of(2026, 1, 1);
+        int f = id % flights, a = f % 40, l = f % 20;
+        String[] classes = {"Economy", "Business", "First"};
+        return new Ticket(id, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 1),
+                new String("Airport " + a), new String("A" + (char) ('A' + a % 26) + (char) ('A' + a / 26)), new String("City " + a),
+                new String("Airline " + l), new String("AL" + (char) ('A' + l)), new String("ops" + l + "@airline.com"),
+                new String("FL" + f), new String("City " + a), new String("City " + (a + 1) % 40), 100 + f,
+                new String("Pilot " + f), new String("LIC-" + f), 2 + f % 20, new String("Crew " + f), new String("Purser"), new String(f % 2 == 0 ? "Day" : "Night"),
+                "Passenger " + id, 18 + id % 60, id % 2 == 0 ? "Male" : "Female", String.format("078%07d", id % 10_000_000),
+                now.plusDays(id % 90), (1 + id % 30) + "A", classes[id % 3], now.plusDays(id % 90), new String("Card"), 150.0, "TK" + id, now.plusDays(id % 90));
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
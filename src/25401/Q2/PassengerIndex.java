@@ -0,0 +1,223 @@
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+// Trigram postings for one text field: every lower-cased 3-character window of a value maps
+// to the ascending list of passenger numbers containing it. Keys live in an open-addressing
+// table of longs, so adding a passenger boxes nothing.
+class TrigramIndex {
+    private long[] keys = new long[1 << 12];
+    private int[][] postings = new int[1 << 12][];
+    private int[] lengths = new int[1 << 12];
+    private int size;
+
+    void add(int doc, String value) {
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            long key = gram(value, i);
+            int slot = slotOf(key);
+            if (postings[slot] == null) {
+                if ((size + 1) * 2 > keys.length) {
+                    rehash();
+                    slot = slotOf(key);
+                }
+                keys[slot] = key;
+                postings[slot] = new int[4];
+                size++;
+            }
+            int n = lengths[slot];
+            int[] list = postings[slot];
+            if (n > 0 && list[n - 1] == doc) continue;   // repeated gram within one value
+            if (n == list.length) postings[slot] = list = Arrays.copyOf(list, n + (n >> 1) + 1);
+            list[n] = doc;
+            lengths[slot] = n + 1;
+        }
+    }
+
+    // Feeds passengers whose value contains every trigram of the (>= 3 chars) query to the
+    // visitor in ascending order until it returns false. A superset of the true substring
+    // matches; callers verify.
+    void forEachCandidate(String query, IntPredicate visitor) {
+        int grams = query.length() - 2;
+        int[][] lists = new int[grams][];
+        int[] counts = new int[grams];
+        for (int i = 0; i < grams; i++) {
+            int slot = slotOf(gram(query, i));
+            if (postings[slot] == null) return;
+            lists[i] = postings[slot];
+            counts[i] = lengths[slot];
+        }
+        int shortest = 0;
+        for (int i = 1; i < grams; i++) if (counts[i] < counts[shortest]) shortest = i;
+        int[] cursors = new int[grams];
+        next:
+        for (int c = 0; c < counts[shortest]; c++) {
+            int doc = lists[shortest][c];
+            for (int i = 0; i < grams; i++) {
+                if (i == shortest) continue;
+                int at = gallop(lists[i], cursors[i], counts[i], doc);
+                cursors[i] = at;
+                if (at == counts[i]) break next;
+                if (lists[i][at] != doc) continue next;
+            }
+            if (!visitor.test(doc)) return;
+        }
+    }
+
+    // First index >= from whose element is >= target.
+    private static int gallop(int[] list, int from, int count, int target) {
+        int step = 1, hi = from;
+        while (hi < count && list[hi] < target) {
+            from = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+        int low = from, high = Math.min(hi, count);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (list[mid] < target) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static long gram(String value, int i) {
+        return (long) Character.toLowerCase(value.charAt(i)) << 32 | (long) Character.toLowerCase(value.charAt(i + 1)) << 16 | Character.toLowerCase(value.charAt(i + 2));
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        long h = key * 0x9E3779B97F4A7C15L;
+        int i = (int) (h ^ (h >>> 32)) & mask;
+        while (postings[i] != null && keys[i] != key) i = (i + 1) & mask;
+        return i;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[][] oldPostings = postings;
+        int[] oldLengths = lengths;
+        keys = new long[oldKeys.length * 2];
+        postings = new int[oldKeys.length * 2][];
+        lengths = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldPostings[i] == null) continue;
+            int slot = slotOf(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            postings[slot] = oldPostings[i];
+            lengths[slot] = oldLengths[i];
+        }
+    }
+}
+
+// Check-in lookup of Passengers by any part of passengerName (case-insensitive) or contact,
+// plus typo-tolerant name search. Both fields are trigram-indexed; candidates come from
+// intersecting posting lists and are verified against the actual value. Fuzzy search splits the
+// query into maxEdits + 1 pieces, one of which must occur exactly in any match, and verifies
+// candidates with approximate substring matching. Passengers are added incrementally;
+// searches run concurrently under a read lock.
+class PassengerIndex {
+    private final TrigramIndex names = new TrigramIndex();
+    private final TrigramIndex contacts = new TrigramIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Passenger[] passengers = new Passenger[1024];
+    private int size;
+
+    public void add(Passenger passenger) {
+        lock.writeLock().lock();
+        try {
+            if (size == passengers.length) passengers = Arrays.copyOf(passengers, size * 2);
+            int doc = size++;
+            passengers[doc] = passenger;
+            names.add(doc, passenger.getPassengerName());
+            contacts.add(doc, passenger.getContact());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Passenger> searchName(String partial, int limit) {
+        return search(names, partial, limit, true);
+    }
+
+    public List<Passenger> searchContact(String partial, int limit) {
+        return search(contacts, partial, limit, false);
+    }
+
+    public List<Passenger> searchNameFuzzy(String query, int maxEdits, int limit) {
+        if (maxEdits < 0) throw new IllegalArgumentException("Max edits must be >= 0");
+        if (query.length() < 3 * (maxEdits + 1))
+            throw new IllegalArgumentException("Query must be at least " + 3 * (maxEdits + 1) + " characters for " + maxEdits + " edits");
+        lock.readLock().lock();
+        try {
+            int pieces = maxEdits + 1, pieceLength = query.length() / pieces;
+            List<Passenger> matches = new ArrayList<>();
+            Set<Integer> matched = new HashSet<>();
+            for (int p = 0; p < pieces && matches.size() < limit; p++) {
+                String piece = query.substring(p * pieceLength, p == pieces - 1 ? query.length() : (p + 1) * pieceLength);
+                names.forEachCandidate(piece, doc -> {
+                    if (!matched.contains(doc) && withinEdits(passengers[doc].getPassengerName(), query, maxEdits)) {
+                        matched.add(doc);
+                        matches.add(passengers[doc]);
+                    }
+                    return matches.size() < limit;
+                });
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Passenger> search(TrigramIndex index, String partial, int limit, boolean name) {
+        if (partial.length() < 3) throw new IllegalArgumentException("Query must be at least 3 characters");
+        lock.readLock().lock();
+        try {
+            List<Passenger> matches = new ArrayList<>();
+            if (limit <= 0) return matches;
+            index.forEachCandidate(partial, doc -> {
+                Passenger passenger = passengers[doc];
+                if (containsIgnoreCase(name ? passenger.getPassengerName() : passenger.getContact(), partial)) matches.add(passenger);
+                return matches.size() < limit;
+            });
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean containsIgnoreCase(String text, String query) {
+        for (int i = 0; i + query.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, query, 0, query.length())) return true;
+        }
+        return false;
+    }
+
+    // Sellers' algorithm: edit distance between query and the best-matching substring of text.
+    private static boolean withinEdits(String text, String query, int maxEdits) {
+        int m = query.length();
+        int[] column = new int[m + 1];
+        for (int i = 0; i <= m; i++) column[i] = i;
+        if (column[m] <= maxEdits) return true;
+        for (int j = 0; j < text.length(); j++) {
+            char c = Character.toLowerCase(text.charAt(j));
+            int diagonal = 0;   // row 0 is always 0: a match may start anywhere
+            for (int i = 1; i <= m; i++) {
+                int above = column[i];
+                int cost = Character.toLowerCase(query.charAt(i - 1)) == c ? 0 : 1;
+                column[i] = Math.min(Math.min(column[i - 1] + 1, above + 1), diagonal + cost);
+                diagonal = above;
+            }
+            if (column[m] <= maxEdits) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+import java.time.LocalDate;
+import java.util.*;
+
+// Indexes synthetic passengers into PassengerIndex, then times partial-name, partial-contact
+// and one-typo name searches against a linear scan of the same passengers. Run with -Xmx3g for
+// the default 5M passengers.
+public class PassengerSearchBenchmark {
+    private static final String[] SYLLABLES = {"ka", "mu", "ri", "to", "na", "be", "si", "lo", "ga", "we", "ny", "za", "ru", "ha", "mi", "de", "jo", "pa", "ve", "ki"};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        LocalDate now = LocalDate.now();
+        CabinCrew crew = new CabinCrew(1, now, now, "Kigali International", "KGL", "Kigali", "RwandAir", "WB", "info@rwandair.com", "WB100", "Kigali", "Nairobi", 250.0, "J. Mugisha", "LIC-001", 12, "A. Uwase", "Purser", "Day");
+        Random random = new Random(21);
+        Passenger[] passengers = new Passenger[count];
+        for (int i = 0; i < count; i++) {
+            passengers[i] = new Passenger(i + 1, now, now, crew.getAirportName(), crew.getCode(), crew.getLocation(), crew.getAirlineName(), crew.getAirlineCode(), crew.getContactEmail(), crew.getFlightNumber(), crew.getDeparture(), crew.getDestination(), crew.getBaseFare(), crew.getPilotName(), crew.getLicenseNumber(), crew.getExperienceYears(), crew.getCrewName(), crew.getRole(), crew.getShift(),
+                    name(random) + " " + name(random), 18 + random.nextInt(60), i % 2 == 0 ? "Male" : "Female", String.format("07%08d", random.nextInt(100_000_000)));
+        }
+
+        PassengerIndex index = new PassengerIndex();
+        long start = System.nanoTime();
+        for (Passenger passenger : passengers) index.add(passenger);
+        long buildNanos = System.nanoTime() - start;
+
+        String[] names = new String[queries], contacts = new String[queries], typos = new String[queries];
+        for (int q = 0; q < queries; q++) {
+            Passenger target = passengers[random.nextInt(count)];
+            String name = target.getPassengerName();
+            int from = random.nextInt(name.length() - 6);
+            names[q] = name.substring(from, from + 6).toUpperCase();
+            contacts[q] = target.getContact().substring(5);
+            char[] typo = name.substring(0, Math.min(name.length(), 10)).toCharArray();
+            typo[typo.length / 2] = typo[typo.length / 2] == 'x' ? 'y' : 'x';
+            typos[q] = new String(typo);
+        }
+
+        long[] nameLatency = time(q -> index.searchName(names[q], 20), names.length, "name " + names[0]);
+        long[] contactLatency = time(q -> index.searchContact(contacts[q], 20), contacts.length, "contact " + contacts[0]);
+        long[] fuzzyLatency = time(q -> index.searchNameFuzzy(typos[q], 1, 20), typos.length, "fuzzy " + typos[0]);
+
+        start = System.nanoTime();
+        int scanned = 0;
+        String needle = names[0].toLowerCase();
+        for (Passenger passenger : passengers) {
+            if (passenger.getPassengerName().toLowerCase().contains(needle) && ++scanned == 20) break;
+        }
+        long scanNanos = System.nanoTime() - start;
+        if (index.searchName(names[0], 20).size() != scanned) throw new IllegalStateException("Index and scan disagree for " + names[0]);
+
+        System.out.println("=== Passenger Search Benchmark ===");
+        System.out.println("Passengers: " + count + ", Queries per kind: " + queries + ", Limit: 20");
+        System.out.printf("Index build: %.2f s (%.0f passengers/sec)%n", buildNanos / 1e9, count / (buildNanos / 1e9));
+        print("Partial name", nameLatency);
+        print("Partial contact", contactLatency);
+        print("Fuzzy name (1 edit)", fuzzyLatency);
+        System.out.printf("Linear scan, first query: %.2f ms%n", scanNanos / 1e6);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int s = 0; s < syllables; s++) name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private interface Query { List<Passenger> run(int q); }
+
+    private static long[] time(Query query, int queries, String label) {
+        for (int q = 0; q < queries; q++) query.run(q);   // warm-up
+        long[] latencies = new long[queries];
+        for (int q = 0; q < queries; q++) {
+            long start = System.nanoTime();
+            if (query.run(q).isEmpty()) throw new IllegalStateException("No match for " + label);
+            latencies[q] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static void print(String kind, long[] latencies) {
+        System.out.printf("%-20s p50: %.3f ms, p99: %.3f ms%n", kind + ":", latencies[latencies.length / 2] / 1e6, latencies[(int) (latencies.length * 0.99)] / 1e6);
+    }
+}
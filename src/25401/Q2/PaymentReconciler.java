@@ -0,0 +1,310 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+class Discrepancy {
+    enum Type { UNDERPAID, OVERPAID, ORPHAN_PAYMENT, UNPAID_TICKET }
+
+    private final Type type;
+    private final String ticketNumber;
+    private final double expectedFare;
+    private final double amountPaid;
+
+    Discrepancy(Type type, String ticketNumber, double expectedFare, double amountPaid) {
+        this.type = type;
+        this.ticketNumber = ticketNumber;
+        this.expectedFare = expectedFare;
+        this.amountPaid = amountPaid;
+    }
+
+    public Type getType() { return type; }
+    public String getTicketNumber() { return ticketNumber; }
+    public double getExpectedFare() { return expectedFare; }
+    public double getAmountPaid() { return amountPaid; }
+
+    @Override
+    public String toString() {
+        return String.format("%s,%s,%.2f,%.2f", type, ticketNumber, expectedFare, amountPaid);
+    }
+}
+
+// Checks Payment.amountPaid against Ticket.calculateFare() for exports too large to hold in
+// memory. Both files are streamed once and hash-partitioned by ticket number into spill files
+// (a grace hash join). Any partition whose ticket spill is still over partitionBytes is split
+// again with a fresh hash, recursively, so the number of partitions follows the input size.
+// Every pass writes to at most MAX_FAN_OUT spill files at once. Partitions are then joined in
+// parallel, one in memory per worker.
+// Export formats, one row per line:
+//   tickets:  ticketNumber,baseFare,travelClass
+//   payments: ticketNumber,amountPaid      (several payments for one ticket are summed)
+// Heap use is bounded by workers x partitionBytes of ticket rows plus workers x MAX_FAN_OUT
+// spill buffers, not by file size. The one exception is a partition still oversized after
+// MAX_DEPTH splits, which can only happen when many ticket numbers share a String hash code.
+class PaymentReconciler {
+    private static final int SPILL_BUFFER_BYTES = 8 * 1024;
+    private static final int MAX_FAN_OUT = 64;
+    private static final int MAX_DEPTH = 8;
+
+    // A ticket spill and a payment spill holding the same ticket numbers, split depth times so far.
+    private static final class Bucket {
+        final Path tickets;
+        final Path payments;
+        final int depth;
+
+        Bucket(Path tickets, Path payments, int depth) {
+            this.tickets = tickets;
+            this.payments = payments;
+            this.depth = depth;
+        }
+    }
+
+    private interface BucketTask {
+        List<Bucket> run(Bucket bucket) throws IOException;
+    }
+
+    private final Path workDirectory;
+    private final int workers;
+    private final long partitionBytes;
+    private final double tolerance;
+
+    public PaymentReconciler(Path workDirectory, int workers, long partitionBytes, double tolerance) {
+        if (workDirectory == null) throw new IllegalArgumentException("Work directory cannot be null");
+        if (workers <= 0) throw new IllegalArgumentException("Workers must be > 0");
+        if (partitionBytes <= 0) throw new IllegalArgumentException("Partition size must be > 0");
+        if (tolerance < 0) throw new IllegalArgumentException("Tolerance must be >= 0");
+        this.workDirectory = workDirectory;
+        this.workers = workers;
+        this.partitionBytes = partitionBytes;
+        this.tolerance = tolerance;
+    }
+
+    static final class Summary {
+        final LongAdder tickets = new LongAdder();
+        final LongAdder payments = new LongAdder();
+        final LongAdder matched = new LongAdder();
+        final LongAdder underpaid = new LongAdder();
+        final LongAdder overpaid = new LongAdder();
+        final LongAdder orphanPayments = new LongAdder();
+        final LongAdder unpaidTickets = new LongAdder();
+        final LongAdder rejectedRows = new LongAdder();
+        int partitions;
+
+        public long getTickets() { return tickets.sum(); }
+        public long getPayments() { return payments.sum(); }
+        public long getMatched() { return matched.sum(); }
+        public long getUnderpaid() { return underpaid.sum(); }
+        public long getOverpaid() { return overpaid.sum(); }
+        public long getOrphanPayments() { return orphanPayments.sum(); }
+        public long getUnpaidTickets() { return unpaidTickets.sum(); }
+        public long getRejectedRows() { return rejectedRows.sum(); }
+        public int getPartitions() { return partitions; }
+    }
+
+    // Discrepancies are passed to the sink as they are found, from several threads at once.
+    public Summary reconcile(Path ticketExport, Path paymentExport, Consumer<Discrepancy> sink) throws IOException {
+        Summary summary = new Summary();
+        Path spill = Files.createTempDirectory(workDirectory, "reconcile");
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            int fanOut = fanOut(Files.size(ticketExport));
+            Path[] tickets = partition(ticketExport, spill, "tickets", fanOut, true, summary);
+            Path[] payments = partition(paymentExport, spill, "payments", fanOut, false, summary);
+            List<Bucket> pending = new ArrayList<>(fanOut);
+            for (int b = 0; b < fanOut; b++) pending.add(new Bucket(tickets[b], payments[b], 1));
+
+            List<Bucket> partitions = new ArrayList<>();
+            while (!pending.isEmpty()) {
+                List<Bucket> oversized = new ArrayList<>();
+                for (Bucket bucket : pending) {
+                    if (Files.size(bucket.tickets) > partitionBytes && bucket.depth < MAX_DEPTH) oversized.add(bucket);
+                    else partitions.add(bucket);
+                }
+                pending = runAll(pool, oversized, bucket -> split(bucket, spill));
+            }
+            summary.partitions = partitions.size();
+            runAll(pool, partitions, bucket -> {
+                joinPartition(bucket.tickets, bucket.payments, sink, summary);
+                return List.of();
+            });
+        } finally {
+            pool.shutdownNow();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(spill)) {
+                for (Path file : files) Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(spill);
+        }
+        return summary;
+    }
+
+    // Enough files for each to fit partitionBytes, at least one per worker, at most MAX_FAN_OUT.
+    private int fanOut(long bytes) {
+        long needed = (bytes + partitionBytes - 1) / partitionBytes;
+        return (int) Math.max(2, Math.min(MAX_FAN_OUT, Math.max(workers, needed)));
+    }
+
+    // Spills each valid row as (ticketNumber, amount); for tickets the amount is the expected fare.
+    private Path[] partition(Path export, Path spill, String name, int fanOut, boolean tickets, Summary summary) throws IOException {
+        Path[] files = new Path[fanOut];
+        DataOutputStream[] outs = new DataOutputStream[fanOut];
+        try (BufferedReader in = Files.newBufferedReader(export, StandardCharsets.UTF_8)) {
+            openSpills(spill, name, files, outs);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                int comma = line.indexOf(',');
+                int second = comma < 0 ? -1 : line.indexOf(',', comma + 1);
+                double amount;
+                try {
+                    if (comma <= 0) throw new IllegalArgumentException("Missing ticket number");
+                    if (tickets) {
+                        if (second < 0) throw new IllegalArgumentException("Missing travel class");
+                        double baseFare = Double.parseDouble(line.substring(comma + 1, second));
+                        if (!(baseFare > 0)) throw new IllegalArgumentException("Fare must be > 0");
+                        amount = FareCalculator.calculateFare(baseFare, FareCalculator.encodeClass(line.substring(second + 1)));
+                    } else {
+                        if (second >= 0) throw new IllegalArgumentException("Too many fields");
+                        amount = Double.parseDouble(line.substring(comma + 1));
+                        if (!(amount > 0)) throw new IllegalArgumentException("Amount must be > 0");
+                    }
+                } catch (IllegalArgumentException e) {
+                    summary.rejectedRows.increment();
+                    continue;
+                }
+                String ticketNumber = line.substring(0, comma);
+                DataOutputStream out = outs[bucketOf(ticketNumber, 0, fanOut)];
+                out.writeUTF(ticketNumber);
+                out.writeDouble(amount);
+            }
+        } finally {
+            for (DataOutputStream out : outs) if (out != null) out.close();
+        }
+        return files;
+    }
+
+    // Splits an oversized bucket one level further, then deletes it.
+    private List<Bucket> split(Bucket bucket, Path spill) throws IOException {
+        int fanOut = fanOut(Files.size(bucket.tickets));
+        Path[] tickets = respill(bucket.tickets, spill, "tickets", fanOut, bucket.depth);
+        Path[] payments = respill(bucket.payments, spill, "payments", fanOut, bucket.depth);
+        Files.delete(bucket.tickets);
+        Files.delete(bucket.payments);
+        List<Bucket> children = new ArrayList<>(fanOut);
+        for (int b = 0; b < fanOut; b++) children.add(new Bucket(tickets[b], payments[b], bucket.depth + 1));
+        return children;
+    }
+
+    private Path[] respill(Path source, Path spill, String name, int fanOut, int depth) throws IOException {
+        Path[] files = new Path[fanOut];
+        DataOutputStream[] outs = new DataOutputStream[fanOut];
+        try (DataInputStream in = open(source)) {
+            openSpills(spill, name, files, outs);
+            String ticketNumber;
+            while ((ticketNumber = readTicketNumber(in)) != null) {
+                double amount = in.readDouble();
+                DataOutputStream out = outs[bucketOf(ticketNumber, depth, fanOut)];
+                out.writeUTF(ticketNumber);
+                out.writeDouble(amount);
+            }
+        } finally {
+            for (DataOutputStream out : outs) if (out != null) out.close();
+        }
+        return files;
+    }
+
+    private static void openSpills(Path spill, String name, Path[] files, DataOutputStream[] outs) throws IOException {
+        for (int b = 0; b < outs.length; b++) {
+            files[b] = Files.createTempFile(spill, name, "");
+            outs[b] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(files[b]), SPILL_BUFFER_BYTES));
+        }
+    }
+
+    // A different mix of the hash code at each depth, so a split spreads keys that all landed
+    // in one bucket at the level above.
+    private static int bucketOf(String ticketNumber, int depth, int fanOut) {
+        long h = ticketNumber.hashCode() * 0x9E3779B97F4A7C15L + depth;
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        return (int) Math.floorMod(h, (long) fanOut);
+    }
+
+    private static List<Bucket> runAll(ExecutorService pool, List<Bucket> buckets, BucketTask task) throws IOException {
+        List<Future<List<Bucket>>> results = new ArrayList<>(buckets.size());
+        for (Bucket bucket : buckets) results.add(pool.submit(() -> task.run(bucket)));
+        List<Bucket> produced = new ArrayList<>();
+        for (Future<List<Bucket>> result : results) {
+            try {
+                produced.addAll(result.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                throw new IllegalStateException("Reconciliation failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during reconciliation", e);
+            }
+        }
+        return produced;
+    }
+
+    private void joinPartition(Path ticketFile, Path paymentFile, Consumer<Discrepancy> sink, Summary summary) throws IOException {
+        // expected fare, amount paid so far, payments seen; sized for ~20-byte spill records.
+        Map<String, double[]> tickets = new HashMap<>((int) Math.min(1 << 24, Files.size(ticketFile) / 15));
+        try (DataInputStream in = open(ticketFile)) {
+            String ticketNumber;
+            while ((ticketNumber = readTicketNumber(in)) != null) {
+                double fare = in.readDouble();
+                if (tickets.putIfAbsent(ticketNumber, new double[] {fare, 0, 0}) != null) summary.rejectedRows.increment();
+                else summary.tickets.increment();
+            }
+        }
+        try (DataInputStream in = open(paymentFile)) {
+            String ticketNumber;
+            while ((ticketNumber = readTicketNumber(in)) != null) {
+                double amount = in.readDouble();
+                summary.payments.increment();
+                double[] ticket = tickets.get(ticketNumber);
+                if (ticket == null) {
+                    summary.orphanPayments.increment();
+                    sink.accept(new Discrepancy(Discrepancy.Type.ORPHAN_PAYMENT, ticketNumber, 0, amount));
+                } else {
+                    ticket[1] += amount;
+                    ticket[2]++;
+                }
+            }
+        }
+        for (Map.Entry<String, double[]> entry : tickets.entrySet()) {
+            double[] ticket = entry.getValue();
+            if (ticket[2] == 0) {
+                summary.unpaidTickets.increment();
+                sink.accept(new Discrepancy(Discrepancy.Type.UNPAID_TICKET, entry.getKey(), ticket[0], 0));
+            } else if (ticket[1] < ticket[0] - tolerance) {
+                summary.underpaid.increment();
+                sink.accept(new Discrepancy(Discrepancy.Type.UNDERPAID, entry.getKey(), ticket[0], ticket[1]));
+            } else if (ticket[1] > ticket[0] + tolerance) {
+                summary.overpaid.increment();
+                sink.accept(new Discrepancy(Discrepancy.Type.OVERPAID, entry.getKey(), ticket[0], ticket[1]));
+            } else {
+                summary.matched.increment();
+            }
+        }
+    }
+
+    // Null at the end of a spill file; every record starts with its ticket number.
+    private static String readTicketNumber(DataInputStream in) throws IOException {
+        try {
+            return in.readUTF();
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static DataInputStream open(Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+    }
+}
@@ -0,0 +1,75 @@
+import java.io.BufferedWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+// Writes synthetic ticket and payment exports with a known number of underpayments,
+// overpayments, orphan payments and unpaid tickets, reconciles them with PaymentReconciler and
+// checks every injected problem is found. Run with a small -Xmx to see heap stay bounded.
+public class PaymentReconciliationBenchmark {
+    public static void main(String[] args) throws Exception {
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long partitionBytes = args.length > 2 ? Long.parseLong(args[2]) : 4L << 20;
+
+        Path directory = Files.createTempDirectory("reconciliation");
+        Path ticketExport = directory.resolve("tickets.csv");
+        Path paymentExport = directory.resolve("payments.csv");
+        String[] classes = {"Economy", "Business", "First"};
+        long under = 0, over = 0, orphans = 0, unpaid = 0;
+        Random random = new Random(19);
+        try (BufferedWriter ticketOut = Files.newBufferedWriter(ticketExport);
+             BufferedWriter paymentOut = Files.newBufferedWriter(paymentExport)) {
+            for (int i = 1; i <= tickets; i++) {
+                String ticketNumber = "TK" + i;
+                double baseFare = 50 + random.nextInt(200_000) / 100.0;
+                String travelClass = classes[random.nextInt(classes.length)];
+                ticketOut.write(ticketNumber + "," + baseFare + "," + travelClass + "\n");
+                double fare = FareCalculator.calculateFare(baseFare, FareCalculator.encodeClass(travelClass));
+                switch (i % 100) {
+                    case 1: under++; paymentOut.write(ticketNumber + "," + (fare - 10) + "\n"); break;
+                    case 2: over++; paymentOut.write(ticketNumber + "," + (fare + 10) + "\n"); break;
+                    case 3: unpaid++; break;
+                    case 4: paymentOut.write(ticketNumber + "," + fare / 2 + "\n" + ticketNumber + "," + fare / 2 + "\n"); break;
+                    default: paymentOut.write(ticketNumber + "," + fare + "\n");
+                }
+                if (i % 1_000 == 0) {
+                    orphans++;
+                    paymentOut.write("XX" + i + ",99.0\n");
+                }
+            }
+        }
+        long inputBytes = Files.size(ticketExport) + Files.size(paymentExport);
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+        LongAdder flagged = new LongAdder();
+        PaymentReconciler reconciler = new PaymentReconciler(directory, workers, partitionBytes, 0.005);
+        long start = System.nanoTime();
+        PaymentReconciler.Summary summary = reconciler.reconcile(ticketExport, paymentExport, discrepancy -> flagged.increment());
+        long elapsed = System.nanoTime() - start;
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+
+        if (summary.getUnderpaid() != under || summary.getOverpaid() != over || summary.getOrphanPayments() != orphans || summary.getUnpaidTickets() != unpaid)
+            throw new IllegalStateException("Reconciliation missed injected discrepancies");
+        if (summary.getMatched() != tickets - under - over - unpaid || summary.getRejectedRows() != 0 || flagged.sum() != under + over + orphans + unpaid)
+            throw new IllegalStateException("Reconciliation totals do not add up");
+
+        System.out.println("=== Payment Reconciliation Benchmark ===");
+        System.out.printf("Tickets: %d, Payments: %d, Input: %.1f MB, Partitions: %d, Workers: %d%n", summary.getTickets(), summary.getPayments(), inputBytes / 1e6, summary.getPartitions(), workers);
+        System.out.printf("Elapsed: %.2f s (%.0f rows/sec)%n", elapsed / 1e9, (summary.getTickets() + summary.getPayments()) / (elapsed / 1e9));
+        System.out.println("Matched: " + summary.getMatched() + ", Underpaid: " + summary.getUnderpaid() + ", Overpaid: " + summary.getOverpaid() + ", Orphan payments: " + summary.getOrphanPayments() + ", Unpaid tickets: " + summary.getUnpaidTickets());
+        System.out.printf("Peak Heap Used: %.1f MB (max %.1f MB)%n", peak / (1024.0 * 1024.0), Runtime.getRuntime().maxMemory() / (1024.0 * 1024.0));
+        Files.delete(ticketExport);
+        Files.delete(paymentExport);
+        Files.delete(directory);
+    }
+}
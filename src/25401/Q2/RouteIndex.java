@@ -0,0 +1,120 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// One way to fly between two airports: the cheapest Flight for each leg.
+class Itinerary {
+    private final List<Flight> legs;
+    private final double totalBaseFare;
+
+    Itinerary(List<Flight> legs) {
+        this.legs = List.copyOf(legs);
+        double total = 0;
+        for (Flight leg : legs) total += leg.getBaseFare();
+        this.totalBaseFare = total;
+    }
+
+    public List<Flight> getLegs() { return legs; }
+    public int getStops() { return legs.size() - 1; }
+    public double getTotalBaseFare() { return totalBaseFare; }
+
+    public String describe() {
+        StringBuilder route = new StringBuilder(legs.get(0).getDeparture());
+        for (Flight leg : legs) route.append(" -(").append(leg.getFlightNumber()).append(")-> ").append(leg.getDestination());
+        return route.append(" $").append(totalBaseFare).toString();
+    }
+}
+
+// Airport adjacency graph built from Flight departure/destination. Answers direct and one- or
+// two-stop connection queries, caching results per (from, to, maxStops); any flight change
+// clears the cache.
+class RouteIndex {
+    private final Map<String, Map<String, List<Flight>>> outgoing = new HashMap<>();
+    private final ConcurrentHashMap<String, List<Itinerary>> cache = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void addFlight(Flight flight) {
+        lock.writeLock().lock();
+        try {
+            outgoing.computeIfAbsent(flight.getDeparture(), k -> new HashMap<>())
+                    .computeIfAbsent(flight.getDestination(), k -> new ArrayList<>())
+                    .add(flight);
+            cache.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean removeFlight(Flight flight) {
+        lock.writeLock().lock();
+        try {
+            Map<String, List<Flight>> destinations = outgoing.get(flight.getDeparture());
+            List<Flight> flights = destinations == null ? null : destinations.get(flight.getDestination());
+            if (flights == null || !flights.remove(flight)) return false;
+            if (flights.isEmpty()) destinations.remove(flight.getDestination());
+            cache.clear();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Flight> directFlights(String from, String to) {
+        lock.readLock().lock();
+        try {
+            List<Flight> flights = outgoing.getOrDefault(from, Map.of()).get(to);
+            return flights == null ? List.of() : List.copyOf(flights);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Itineraries with at most maxStops (0-2) intermediate airports, fewest stops then cheapest first.
+    public List<Itinerary> search(String from, String to, int maxStops) {
+        if (maxStops < 0 || maxStops > 2) throw new IllegalArgumentException("Max stops must be 0-2");
+        if (from.equals(to)) throw new IllegalArgumentException("Departure and destination must differ");
+        String key = from + '\u0000' + to + '\u0000' + maxStops;
+        List<Itinerary> cached = cache.get(key);
+        if (cached != null) return cached;
+        lock.readLock().lock();
+        try {
+            // Computed under the read lock, so no flight change can clear the cache in between.
+            return cache.computeIfAbsent(key, k -> compute(from, to, maxStops));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int cachedQueries() { return cache.size(); }
+
+    private List<Itinerary> compute(String from, String to, int maxStops) {
+        List<Itinerary> result = new ArrayList<>();
+        Deque<String> path = new ArrayDeque<>();
+        path.add(from);
+        walk(from, to, maxStops, path, new ArrayList<>(), result);
+        result.sort(Comparator.comparingInt(Itinerary::getStops).thenComparingDouble(Itinerary::getTotalBaseFare));
+        return Collections.unmodifiableList(result);
+    }
+
+    private void walk(String at, String to, int stopsLeft, Deque<String> path, List<Flight> legs, List<Itinerary> result) {
+        for (Map.Entry<String, List<Flight>> edge : outgoing.getOrDefault(at, Map.of()).entrySet()) {
+            String next = edge.getKey();
+            if (path.contains(next)) continue;
+            legs.add(cheapest(edge.getValue()));
+            if (next.equals(to)) {
+                result.add(new Itinerary(legs));
+            } else if (stopsLeft > 0) {
+                path.addLast(next);
+                walk(next, to, stopsLeft - 1, path, legs, result);
+                path.removeLast();
+            }
+            legs.remove(legs.size() - 1);
+        }
+    }
+
+    private static Flight cheapest(List<Flight> flights) {
+        Flight best = flights.get(0);
+        for (Flight flight : flights) if (flight.getBaseFare() < best.getBaseFare()) best = flight;
+        return best;
+    }
+}
@@ -0,0 +1,111 @@
+import java.time.LocalDate;
+import java.util.*;
+
+// Checks RouteIndex.search() against a brute-force enumeration of every 0-, 1- and 2-stop
+// airport path, priced with the cheapest flight per leg, while flights are added and removed.
+// Each round first warms the cache, then changes flights on the routes it just queried, so a
+// stale cached itinerary would fail the comparison. Reports uncached and cached query times.
+public class RouteIndexBenchmark {
+    public static void main(String[] args) {
+        int airports = args.length > 0 ? Integer.parseInt(args[0]) : 25;
+        int flightsCount = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        LocalDate today = LocalDate.of(2026, 1, 1);
+        Random random = new Random(15);
+        RouteIndex index = new RouteIndex();
+        List<Flight> flights = new ArrayList<>();
+        int nextId = 1;
+        for (int f = 0; f < flightsCount; f++) {
+            int from = random.nextInt(airports), to = random.nextInt(airports - 1);
+            Flight flight = flight(today, nextId++, "AP" + from, "AP" + (to >= from ? to + 1 : to), random);
+            flights.add(flight);
+            index.addFlight(flight);
+        }
+
+        long uncachedNanos = 0, cachedNanos = 0, queries = 0, itineraries = 0, checked = 0;
+        for (int round = 0; round < rounds; round++) {
+            int a = random.nextInt(airports), b = random.nextInt(airports - 1);
+            String from = "AP" + a, to = "AP" + (b >= a ? b + 1 : b);
+            int maxStops = random.nextInt(3);
+
+            long start = System.nanoTime();
+            List<Itinerary> result = index.search(from, to, maxStops);
+            uncachedNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            if (index.search(from, to, maxStops) != result) throw new IllegalStateException("Repeated search was not served from the cache");
+            cachedNanos += System.nanoTime() - start;
+            queries++;
+            itineraries += result.size();
+            check(index, flights, airports, from, to, maxStops);
+            checked++;
+
+            // Drop the cheapest itinerary's first leg; the cached answer contains it.
+            if (!result.isEmpty()) {
+                Flight removed = result.get(0).getLegs().get(0);
+                if (!index.removeFlight(removed) || !flights.remove(removed)) throw new IllegalStateException("Could not remove " + removed.getFlightNumber());
+                for (Itinerary itinerary : index.search(from, to, maxStops)) {
+                    if (itinerary.getLegs().contains(removed)) throw new IllegalStateException("Stale itinerary still uses removed flight " + removed.getFlightNumber());
+                }
+                check(index, flights, airports, from, to, maxStops);
+                checked++;
+            }
+            // Add a direct flight cheaper than anything on the route; it must be the first direct answer.
+            Flight direct = new Flight(nextId, today, today, "Kigali International", "KGL", "Kigali", "RwandAir", "WB", "info@rwandair.com", "WB" + nextId++, from, to, 1 + random.nextInt(50) / 100.0);
+            flights.add(direct);
+            index.addFlight(direct);
+            List<Itinerary> after = index.search(from, to, maxStops);
+            if (after.isEmpty() || after.get(0).getLegs().get(0) != direct) throw new IllegalStateException("Stale result missed new direct flight " + direct.getFlightNumber());
+            check(index, flights, airports, from, to, maxStops);
+            checked++;
+        }
+
+        System.out.println("=== Route Index Benchmark ===");
+        System.out.println("Airports: " + airports + ", Flights: " + flightsCount + ", Rounds: " + rounds + " (each with one removal and one addition)");
+        System.out.println("Searches checked against brute force: " + checked + ", Itineraries in first answers: " + itineraries);
+        System.out.printf("Uncached search: %.1f us, Cached search: %.3f us%n", uncachedNanos / 1e3 / queries, cachedNanos / 1e3 / queries);
+    }
+
+    // Fares are unique to the cent, so every leg has one cheapest flight.
+    private static Flight flight(LocalDate today, int id, String from, String to, Random random) {
+        return new Flight(id, today, today, "Kigali International", "KGL", "Kigali", "RwandAir", "WB", "info@rwandair.com", "WB" + id, from, to, 100 + random.nextInt(900) + id / 100_000.0);
+    }
+
+    private static void check(RouteIndex index, List<Flight> flights, int airports, String from, String to, int maxStops) {
+        List<Itinerary> actual = index.search(from, to, maxStops);
+        for (int i = 1; i < actual.size(); i++) {
+            Itinerary previous = actual.get(i - 1), next = actual.get(i);
+            if (previous.getStops() > next.getStops() || (previous.getStops() == next.getStops() && previous.getTotalBaseFare() > next.getTotalBaseFare()))
+                throw new IllegalStateException("Itineraries out of order for " + from + "->" + to);
+        }
+        List<String> expected = bruteForce(flights, airports, from, to, maxStops);
+        List<String> got = new ArrayList<>();
+        for (Itinerary itinerary : actual) got.add(itinerary.describe());
+        Collections.sort(got);
+        if (!got.equals(expected))
+            throw new IllegalStateException(from + "->" + to + " (" + maxStops + " stops): index " + got + ", brute force " + expected);
+    }
+
+    // Every simple airport path with at most maxStops intermediate airports, cheapest flight per leg.
+    private static List<String> bruteForce(List<Flight> flights, int airports, String from, String to, int maxStops) {
+        Flight[][] cheapest = new Flight[airports][airports];
+        for (Flight flight : flights) {
+            int d = Integer.parseInt(flight.getDeparture().substring(2)), a = Integer.parseInt(flight.getDestination().substring(2));
+            if (cheapest[d][a] == null || flight.getBaseFare() < cheapest[d][a].getBaseFare()) cheapest[d][a] = flight;
+        }
+        int f = Integer.parseInt(from.substring(2)), t = Integer.parseInt(to.substring(2));
+        List<String> result = new ArrayList<>();
+        if (cheapest[f][t] != null) result.add(new Itinerary(List.of(cheapest[f][t])).describe());
+        for (int x = 0; x < airports && maxStops >= 1; x++) {
+            if (x == f || x == t) continue;
+            if (cheapest[f][x] != null && cheapest[x][t] != null) result.add(new Itinerary(List.of(cheapest[f][x], cheapest[x][t])).describe());
+            for (int y = 0; y < airports && maxStops >= 2; y++) {
+                if (y == f || y == t || y == x) continue;
+                if (cheapest[f][x] != null && cheapest[x][y] != null && cheapest[y][t] != null)
+                    result.add(new Itinerary(List.of(cheapest[f][x], cheapest[x][y], cheapest[y][t])).describe());
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,206 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Seat inventory for one Flight: a bitmap per cabin (First, Business, Economy rows in that
+// order), one bit per seat. Seats are claimed with compare-and-set on the 64-seat word, so
+// concurrent bookings never double-book and never take a global lock. Each cabin keeps a hint
+// at the first word that may have a free seat, making "next free seat" O(1) amortized.
+class SeatMap {
+    static final String[] CLASSES = {"First", "Business", "Economy"};
+
+    // Fired when a cabin becomes full or gets its first free seat back.
+    interface AvailabilityListener {
+        void onAvailabilityChanged(SeatMap map, String travelClass, boolean available);
+    }
+
+    private static final class Cabin {
+        final int firstRow;
+        final int rows;
+        final int seatsPerRow;
+        final int seats;
+        final AtomicLongArray words;
+        final AtomicInteger hint = new AtomicInteger();
+        final AtomicInteger taken = new AtomicInteger();
+
+        Cabin(int firstRow, int rows, int seatsPerRow) {
+            this.firstRow = firstRow;
+            this.rows = rows;
+            this.seatsPerRow = seatsPerRow;
+            this.seats = rows * seatsPerRow;
+            this.words = new AtomicLongArray((seats + 63) / 64);
+        }
+
+        long validMask(int word) {
+            int bits = Math.min(64, seats - word * 64);
+            return bits == 64 ? -1L : (1L << bits) - 1;
+        }
+    }
+
+    private final String flightNumber;
+    private final Cabin[] cabins = new Cabin[CLASSES.length];
+    private final CopyOnWriteArrayList<AvailabilityListener> listeners = new CopyOnWriteArrayList<>();
+
+    public SeatMap(String flightNumber, int firstRows, int businessRows, int economyRows, int firstPerRow, int businessPerRow, int economyPerRow) {
+        if (flightNumber == null || flightNumber.isEmpty()) throw new IllegalArgumentException("Flight number cannot be empty");
+        if (firstRows < 0 || businessRows < 0 || economyRows < 0) throw new IllegalArgumentException("Rows must be >= 0");
+        int[] perRow = {firstPerRow, businessPerRow, economyPerRow};
+        for (int seats : perRow) {
+            if (seats < 1 || seats > 26) throw new IllegalArgumentException("Seats per row must be 1-26");
+        }
+        this.flightNumber = flightNumber;
+        cabins[0] = new Cabin(1, firstRows, firstPerRow);
+        cabins[1] = new Cabin(1 + firstRows, businessRows, businessPerRow);
+        cabins[2] = new Cabin(1 + firstRows + businessRows, economyRows, economyPerRow);
+    }
+
+    public String getFlightNumber() { return flightNumber; }
+
+    public void addListener(AvailabilityListener listener) {
+        if (listener == null) throw new IllegalArgumentException("Listener cannot be null");
+        listeners.add(listener);
+    }
+
+    // Returns the claimed seat number (e.g. "14C"), or null if the cabin is full.
+    public String claimNextFree(String travelClass) {
+        Cabin cabin = cabins[classIndex(travelClass)];
+        int word = cabin.hint.get();
+        while (word < cabin.words.length()) {
+            long bits = cabin.words.get(word);
+            long free = ~bits & cabin.validMask(word);
+            if (free == 0) {
+                // A release may have freed this word after it was read; if so, pull the hint back.
+                if (cabin.hint.compareAndSet(word, word + 1) && (~cabin.words.get(word) & cabin.validMask(word)) != 0) lowerHint(cabin, word);
+                word++;
+                continue;
+            }
+            long lowest = free & -free;
+            if (cabin.words.compareAndSet(word, bits, bits | lowest)) {
+                seatTaken(cabin);
+                return label(cabin, word * 64 + Long.numberOfTrailingZeros(lowest));
+            }
+        }
+        return null;
+    }
+
+    public boolean claim(String seatNumber) {
+        int[] position = locate(seatNumber);
+        Cabin cabin = cabins[position[0]];
+        int word = position[1] >>> 6;
+        long bit = 1L << position[1];
+        while (true) {
+            long bits = cabin.words.get(word);
+            if ((bits & bit) != 0) return false;
+            if (cabin.words.compareAndSet(word, bits, bits | bit)) {
+                seatTaken(cabin);
+                return true;
+            }
+        }
+    }
+
+    // Claims the seat on a Booking for this flight, checking that it lies in the booked cabin.
+    public boolean claim(Booking booking) {
+        if (!booking.getFlightNumber().equals(flightNumber)) throw new IllegalArgumentException("Booking is for flight " + booking.getFlightNumber());
+        if (locate(booking.getSeatNumber())[0] != classIndex(booking.getTravelClass()))
+            throw new IllegalArgumentException("Seat " + booking.getSeatNumber() + " is not in " + booking.getTravelClass());
+        return claim(booking.getSeatNumber());
+    }
+
+    public boolean release(String seatNumber) {
+        int[] position = locate(seatNumber);
+        Cabin cabin = cabins[position[0]];
+        int word = position[1] >>> 6;
+        long bit = 1L << position[1];
+        while (true) {
+            long bits = cabin.words.get(word);
+            if ((bits & bit) == 0) return false;
+            if (cabin.words.compareAndSet(word, bits, bits & ~bit)) {
+                if (cabin.taken.decrementAndGet() == cabin.seats - 1) notifyListeners(cabin, true);
+                lowerHint(cabin, word);
+                return true;
+            }
+        }
+    }
+
+    public boolean isTaken(String seatNumber) {
+        int[] position = locate(seatNumber);
+        return (cabins[position[0]].words.get(position[1] >>> 6) & (1L << position[1])) != 0;
+    }
+
+    public int getAvailableSeats(String travelClass) {
+        Cabin cabin = cabins[classIndex(travelClass)];
+        return cabin.seats - cabin.taken.get();
+    }
+
+    public int getCapacity(String travelClass) {
+        return cabins[classIndex(travelClass)].seats;
+    }
+
+    private void seatTaken(Cabin cabin) {
+        if (cabin.taken.incrementAndGet() == cabin.seats) notifyListeners(cabin, false);
+    }
+
+    private void notifyListeners(Cabin cabin, boolean available) {
+        if (listeners.isEmpty()) return;
+        String travelClass = CLASSES[indexOf(cabin)];
+        for (AvailabilityListener listener : listeners) listener.onAvailabilityChanged(this, travelClass, available);
+    }
+
+    private int indexOf(Cabin cabin) {
+        for (int i = 0; i < cabins.length; i++) if (cabins[i] == cabin) return i;
+        throw new IllegalStateException("Cabin not on this seat map");
+    }
+
+    private static void lowerHint(Cabin cabin, int word) {
+        int hint;
+        while ((hint = cabin.hint.get()) > word && !cabin.hint.compareAndSet(hint, word)) { }
+    }
+
+    private static String label(Cabin cabin, int index) {
+        return (cabin.firstRow + index / cabin.seatsPerRow) + String.valueOf((char) ('A' + index % cabin.seatsPerRow));
+    }
+
+    // Returns {cabin, seat index within cabin} for a seat number such as "14C".
+    private int[] locate(String seatNumber) {
+        if (seatNumber == null || seatNumber.length() < 2) throw new IllegalArgumentException("Invalid seat number: " + seatNumber);
+        int row = 0;
+        int last = seatNumber.length() - 1;
+        for (int i = 0; i < last; i++) {
+            char c = seatNumber.charAt(i);
+            if (c < '0' || c > '9' || i > 4) throw new IllegalArgumentException("Invalid seat number: " + seatNumber);
+            row = row * 10 + (c - '0');
+        }
+        int letter = Character.toUpperCase(seatNumber.charAt(last)) - 'A';
+        for (int i = 0; i < cabins.length; i++) {
+            Cabin cabin = cabins[i];
+            if (row >= cabin.firstRow && row < cabin.firstRow + cabin.rows) {
+                if (letter < 0 || letter >= cabin.seatsPerRow) break;
+                return new int[] {i, (row - cabin.firstRow) * cabin.seatsPerRow + letter};
+            }
+        }
+        throw new IllegalArgumentException("Seat " + seatNumber + " does not exist on flight " + flightNumber);
+    }
+
+    private static int classIndex(String travelClass) {
+        for (int i = 0; i < CLASSES.length; i++) if (CLASSES[i].equals(travelClass)) return i;
+        throw new IllegalArgumentException("Class must be Economy/Business/First");
+    }
+}
+
+// One SeatMap per flight number.
+class SeatInventory {
+    private final ConcurrentHashMap<String, SeatMap> maps = new ConcurrentHashMap<>();
+
+    public SeatMap register(SeatMap map) {
+        SeatMap existing = maps.putIfAbsent(map.getFlightNumber(), map);
+        if (existing != null) throw new IllegalArgumentException("Seat map already registered for " + map.getFlightNumber());
+        return map;
+    }
+
+    public SeatMap get(String flightNumber) {
+        SeatMap map = maps.get(flightNumber);
+        if (map == null) throw new IllegalArgumentException("No seat map for flight " + flightNumber);
+        return map;
+    }
+}
@@ -0,0 +1,53 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+// Thousands of booking threads race for seats on one flight; every seat must be handed out
+// exactly once, then half are released and re-claimed.
+public class SeatMapBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int economyRows = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        SeatMap map = new SeatMap("RW101", 4, 10, economyRows, 4, 6, 10);
+        Set<String> claimed = ConcurrentHashMap.newKeySet();
+        CountDownLatch ready = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            String travelClass = SeatMap.CLASSES[t % SeatMap.CLASSES.length];
+            workers[t] = new Thread(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                String seat;
+                while ((seat = map.claimNextFree(travelClass)) != null) {
+                    if (!claimed.add(seat)) throw new IllegalStateException("Seat " + seat + " double-booked");
+                }
+            });
+            workers[t].start();
+        }
+        long start = System.nanoTime();
+        ready.countDown();
+        for (Thread worker : workers) worker.join();
+        long elapsed = System.nanoTime() - start;
+
+        int capacity = 0;
+        for (String travelClass : SeatMap.CLASSES) {
+            capacity += map.getCapacity(travelClass);
+            if (map.getAvailableSeats(travelClass) != 0) throw new IllegalStateException(travelClass + " not fully allocated");
+        }
+        if (claimed.size() != capacity) throw new IllegalStateException("Claimed " + claimed.size() + " of " + capacity);
+
+        int released = 0;
+        for (String seat : claimed) if (released < capacity / 2 && map.release(seat)) released++;
+        int reclaimed = 0;
+        for (String travelClass : SeatMap.CLASSES) while (map.claimNextFree(travelClass) != null) reclaimed++;
+
+        System.out.println("=== Seat Map Benchmark ===");
+        System.out.println("Threads: " + threads + ", Seats: " + capacity);
+        System.out.printf("Allocated all seats in %.3f s (%.0f seats/sec)%n", elapsed / 1e9, capacity / (elapsed / 1e9));
+        System.out.println("Released: " + released + ", Re-claimed: " + reclaimed);
+    }
+}
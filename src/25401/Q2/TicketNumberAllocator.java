@@ -0,0 +1,137 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+// Issues unique ticket numbers: a prefix, a 10-digit sequence and a mod-7 check digit, as on
+// airline ticket and coupon numbers. Sequence numbers are handed out in blocks to a fixed set
+// of stripes picked by thread id, so threads almost never touch shared state. Blocks are cut
+// from a lease recorded in a small high-water-mark file before any of it is issued; after a
+// restart allocation resumes at the mark, so numbers are skipped but never reused.
+class TicketNumberAllocator {
+    static final String HIGH_WATER_FILE = "ticket.hwm";
+
+    private static final int MARK_MAGIC = 0x54484D4B;
+    private static final long MAX_SEQUENCE = 9_999_999_999L;
+
+    private final String prefix;
+    private final Path file;
+    private final int blockSize;
+    private final long leaseSize;
+    private final Stripe[] stripes;
+    private final int mask;
+
+    private final Object lock = new Object();
+    private long nextBlock;
+    private long highWater;
+
+    // Padded so neighbouring stripes do not share a cache line.
+    private static final class Stripe {
+        long p1, p2, p3, p4, p5, p6, p7;
+        long next;
+        long end;
+        long q1, q2, q3, q4, q5, q6, q7;
+    }
+
+    public TicketNumberAllocator(Path directory, String prefix, int blockSize, int blocksPerLease) throws IOException {
+        if (directory == null) throw new IllegalArgumentException("Directory cannot be null");
+        if (prefix == null || !prefix.matches("[A-Z]{2,4}")) throw new IllegalArgumentException("Prefix must be 2-4 uppercase letters");
+        if (blockSize <= 0 || blocksPerLease <= 0) throw new IllegalArgumentException("Block and lease sizes must be > 0");
+        this.prefix = prefix;
+        this.blockSize = blockSize;
+        this.leaseSize = (long) blockSize * blocksPerLease;
+        Files.createDirectories(directory);
+        this.file = directory.resolve(HIGH_WATER_FILE);
+        this.nextBlock = readHighWater(file);
+        this.highWater = nextBlock;
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) * 2;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) stripes[i] = new Stripe();
+        this.mask = count - 1;
+    }
+
+    public String next() {
+        return format(nextSequence());
+    }
+
+    public long nextSequence() {
+        long id = Thread.currentThread().threadId();
+        Stripe stripe = stripes[(int) (id ^ (id >>> 16)) * 0x9E3779B9 >>> 16 & mask];
+        synchronized (stripe) {
+            if (stripe.next == stripe.end) {
+                stripe.next = reserveBlock();
+                stripe.end = stripe.next + blockSize;
+            }
+            return stripe.next++;
+        }
+    }
+
+    // The first sequence number a restarted allocator would issue.
+    public long getHighWaterMark() {
+        synchronized (lock) { return highWater; }
+    }
+
+    public String format(long sequence) {
+        if (sequence < 0 || sequence > MAX_SEQUENCE) throw new IllegalArgumentException("Sequence out of range: " + sequence);
+        char[] chars = new char[prefix.length() + 11];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        chars[chars.length - 1] = (char) ('0' + sequence % 7);
+        for (int i = chars.length - 2; i >= prefix.length(); i--) {
+            chars[i] = (char) ('0' + sequence % 10);
+            sequence /= 10;
+        }
+        return new String(chars);
+    }
+
+    public static boolean isValid(String ticketNumber) {
+        if (ticketNumber == null || ticketNumber.length() < 13 || ticketNumber.length() > 15) return false;
+        int digits = ticketNumber.length() - 11;
+        for (int i = 0; i < digits; i++) {
+            char c = ticketNumber.charAt(i);
+            if (c < 'A' || c > 'Z') return false;
+        }
+        long sequence = 0;
+        for (int i = digits; i < ticketNumber.length(); i++) {
+            char c = ticketNumber.charAt(i);
+            if (c < '0' || c > '9') return false;
+            if (i < ticketNumber.length() - 1) sequence = sequence * 10 + (c - '0');
+        }
+        return ticketNumber.charAt(ticketNumber.length() - 1) - '0' == sequence % 7;
+    }
+
+    private long reserveBlock() {
+        synchronized (lock) {
+            long start = nextBlock;
+            if (start + blockSize - 1 > MAX_SEQUENCE) throw new IllegalStateException("Ticket number space exhausted");
+            if (start + blockSize > highWater) {
+                long mark = Math.min(start + leaseSize, MAX_SEQUENCE + 1);
+                try {
+                    writeHighWater(mark);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not persist ticket high-water mark", e);
+                }
+                highWater = mark;
+            }
+            nextBlock = start + blockSize;
+            return start;
+        }
+    }
+
+    private void writeHighWater(long mark) throws IOException {
+        Path temp = file.resolveSibling(HIGH_WATER_FILE + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(12).putInt(MARK_MAGIC).putLong(mark).flip();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) out.write(buffer);
+            out.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long readHighWater(Path file) throws IOException {
+        if (!Files.exists(file)) return 1;
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() != 12 || buffer.getInt() != MARK_MAGIC) throw new IOException("Invalid ticket high-water mark");
+        return buffer.getLong();
+    }
+}
@@ -0,0 +1,61 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+
+// Allocates ticket numbers from many threads at once, checks every number is unique and carries
+// a valid check digit, then reopens the allocator on the same high-water file to show that a
+// restart resumes past everything already issued.
+public class TicketNumberBenchmark {
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        int blockSize = args.length > 2 ? Integer.parseInt(args[2]) : 1_024;
+        Path directory = Files.createTempDirectory("ticket-numbers");
+
+        TicketNumberAllocator allocator = new TicketNumberAllocator(directory, "TK", blockSize, 1_024);
+        long[][] issued = new long[threads][perThread];
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            long[] mine = issued[t];
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < mine.length; i++) mine[i] = allocator.nextSequence();
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+        long elapsed = System.nanoTime() - start;
+
+        long total = (long) threads * perThread;
+        long max = 0;
+        BitSet seen = new BitSet();
+        for (long[] mine : issued) {
+            for (long sequence : mine) {
+                if (seen.get((int) sequence)) throw new IllegalStateException("Duplicate ticket number " + allocator.format(sequence));
+                seen.set((int) sequence);
+                max = Math.max(max, sequence);
+            }
+        }
+        for (int i = 0; i < 1_000; i++) {
+            String number = allocator.format(issued[i % threads][i]);
+            if (!TicketNumberAllocator.isValid(number)) throw new IllegalStateException("Invalid check digit: " + number);
+        }
+        if (TicketNumberAllocator.isValid("TK00000000121")) throw new IllegalStateException("Check digit missed a typo");
+
+        long formatStart = System.nanoTime();
+        int length = 0;
+        for (int i = 0; i < 1_000_000; i++) length += allocator.next().length();
+        long formatNanos = System.nanoTime() - formatStart;
+
+        TicketNumberAllocator restarted = new TicketNumberAllocator(directory, "TK", blockSize, 1_024);
+        long resumed = restarted.nextSequence();
+        if (resumed <= max) throw new IllegalStateException("Restart reused sequence " + resumed);
+
+        System.out.println("=== Ticket Number Benchmark ===");
+        System.out.println("Threads: " + threads + ", Allocations: " + total + ", Block: " + blockSize);
+        System.out.printf("Sequences: %.3f s, %.1f M allocations/sec%n", elapsed / 1e9, total / (elapsed / 1e6) / 1e3);
+        System.out.printf("Formatted numbers: %.1f M/sec (%d chars)%n", 1e9 / formatNanos, length);
+        System.out.println("All unique and check-digit valid: true");
+        System.out.println("Highest issued: " + allocator.format(max) + ", first after restart: " + restarted.format(resumed));
+    }
+}
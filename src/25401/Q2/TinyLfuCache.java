@@ -0,0 +1,120 @@
+import java.util.*;
+
+// Bounded cache with W-TinyLFU style admission: new entries land in a small LRU window; when
+// the window overflows, its eldest entry only displaces the main region's LRU victim if a
+// count-min sketch says it has been requested more often. One-off searches therefore cannot
+// flush the popular routes out of the cache.
+class TinyLfuCache<K, V> {
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+
+    private long hits;
+    private long misses;
+    // Entries dropped for capacity: either the main victim or the rejected window candidate.
+    private long evictions;
+    private long invalidations;
+
+    public TinyLfuCache(int capacity) {
+        if (capacity < 2) throw new IllegalArgumentException("Capacity must be >= 2");
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.mainCapacity = capacity - windowCapacity;
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    public synchronized V get(K key) {
+        sketch.increment(key);
+        V value = window.get(key);
+        if (value == null) value = main.get(key);
+        if (value == null) misses++;
+        else hits++;
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        if (value == null) throw new IllegalArgumentException("Value cannot be null");
+        if (main.containsKey(key)) {
+            main.put(key, value);
+            return;
+        }
+        window.put(key, value);
+        if (window.size() <= windowCapacity) return;
+        Map.Entry<K, V> candidate = eldest(window);
+        window.remove(candidate.getKey());
+        if (main.size() < mainCapacity) {
+            main.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        Map.Entry<K, V> victim = eldest(main);
+        evictions++;
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey())) {
+            main.remove(victim.getKey());
+            main.put(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    public synchronized boolean invalidate(K key) {
+        boolean removed = window.remove(key) != null | main.remove(key) != null;
+        if (removed) invalidations++;
+        return removed;
+    }
+
+    public synchronized int size() { return window.size() + main.size(); }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getInvalidations() { return invalidations; }
+
+    public synchronized String stats() {
+        long requests = hits + misses;
+        return String.format("Size: %d, Hits: %d, Misses: %d, Hit Rate: %.1f%%, Evictions: %d, Invalidations: %d",
+                size(), hits, misses, requests == 0 ? 0.0 : 100.0 * hits / requests, evictions, invalidations);
+    }
+
+    private static <K, V> Map.Entry<K, V> eldest(LinkedHashMap<K, V> map) {
+        return map.entrySet().iterator().next();
+    }
+
+    // Count-min sketch of 4-bit-saturating counters, halved periodically so old popularity fades.
+    private static final class FrequencySketch {
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final byte[][] counters = new byte[SEEDS.length][];
+        private final int mask;
+        private final int resetThreshold;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, capacity) * 2 - 1);
+            for (int i = 0; i < counters.length; i++) counters[i] = new byte[width];
+            mask = width - 1;
+            resetThreshold = capacity * 10;
+        }
+
+        void increment(Object key) {
+            int hash = key.hashCode();
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = index(hash, i);
+                if (counters[i][index] < 15) counters[i][index]++;
+            }
+            if (++additions >= resetThreshold) {
+                additions /= 2;
+                for (byte[] row : counters) for (int j = 0; j < row.length; j++) row[j] >>= 1;
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = key.hashCode();
+            int min = 15;
+            for (int i = 0; i < SEEDS.length; i++) min = Math.min(min, counters[i][index(hash, i)]);
+            return min;
+        }
+
+        private int index(int hash, int row) {
+            int h = hash * SEEDS[row];
+            return (h ^ (h >>> 15)) & mask;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Times progressive tax on many salaries with a bracket-by-bracket walk versus a compiled
+// BracketTable, checks they agree, then redefines the schedule continuously while readers
+// assess, to show every reader sees either the old or the new schedule and never a mix.
+public class BracketTableBenchmark {
+    private static final double[] BOUNDS = {0, 60_000, 100_000, 200_000, 500_000, 1_000_000, 2_000_000, 5_000_000};
+    private static final double[] RATES = {0, 0.10, 0.20, 0.25, 0.30, 0.33, 0.36, 0.40};
+
+    public static void main(String[] args) throws Exception {
+        int salaries = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Random random = new Random(24);
+        double[] salary = new double[salaries];
+        for (int i = 0; i < salaries; i++) salary[i] = random.nextInt(8_000_000) + random.nextInt(100) / 100.0;
+
+        BracketTable table = new BracketTable(BOUNDS, RATES, 5_000);
+        double[] walked = new double[salaries], compiled = new double[salaries];
+        long walkNanos = Long.MAX_VALUE, tableNanos = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < salaries; i++) walked[i] = walk(salary[i], 5_000);
+            walkNanos = Math.min(walkNanos, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (int i = 0; i < salaries; i++) compiled[i] = table.tax(salary[i]);
+            tableNanos = Math.min(tableNanos, System.nanoTime() - start);
+        }
+        for (int i = 0; i < salaries; i++) {
+            if (Math.abs(walked[i] - compiled[i]) > 1e-6 * Math.max(1, walked[i]))
+                throw new IllegalStateException("Tax mismatch for salary " + salary[i] + ": " + walked[i] + " vs " + compiled[i]);
+        }
+
+        TaxBracketTables tables = new TaxBracketTables(50_000);
+        double[] halved = RATES.clone();
+        for (int i = 0; i < halved.length; i++) halved[i] /= 2;
+        tables.define("PAYE", BOUNDS, RATES, 5_000);
+        double probe = 750_000;
+        double before = new BracketTable(BOUNDS, RATES, 5_000).tax(probe), after = new BracketTable(BOUNDS, halved, 5_000).tax(probe);
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[] swaps = new long[1];
+        Thread writer = new Thread(() -> {
+            try {
+                while (running.get()) {
+                    tables.define("PAYE", BOUNDS, swaps[0] % 2 == 0 ? halved : RATES, 5_000);
+                    swaps[0]++;
+                }
+            } catch (TaxDataException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writer.start();
+        long reads = 0;
+        long until = System.nanoTime() + 1_000_000_000L;
+        while (System.nanoTime() < until) {
+            double tax = tables.snapshot().get("PAYE").tax(probe);
+            if (tax != before && tax != after) throw new IllegalStateException("Torn schedule: " + tax);
+            reads++;
+        }
+        running.set(false);
+        writer.join();
+
+        System.out.println("=== Bracket Table Benchmark ===");
+        System.out.println("Salaries: " + salaries + ", Brackets: " + BOUNDS.length + ", best of " + rounds);
+        System.out.printf("Bracket walk:   %.2f ms (%.1f ns/salary)%n", walkNanos / 1e6, (double) walkNanos / salaries);
+        System.out.printf("Compiled table: %.2f ms (%.1f ns/salary)%n", tableNanos / 1e6, (double) tableNanos / salaries);
+        System.out.println("Results agree: true");
+        System.out.println("Schedule swaps: " + swaps[0] + ", concurrent reads: " + reads + ", torn reads: 0");
+    }
+
+    // Reference: tax each bracket's slice of the salary in turn.
+    private static double walk(double salary, double credit) {
+        double tax = 0;
+        for (int i = 0; i < BOUNDS.length && salary > BOUNDS[i]; i++) {
+            double top = i + 1 < BOUNDS.length ? Math.min(salary, BOUNDS[i + 1]) : salary;
+            tax += (top - BOUNDS[i]) * RATES[i];
+        }
+        return Math.max(0, tax - credit);
+    }
+}
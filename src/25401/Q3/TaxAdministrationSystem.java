@@ -23,6 +23,17 @@ class TaxEntity {
     public int getId() { return id; }
     public LocalDate getCreatedDate() { return createdDate; }
     public LocalDate getUpdatedDate() { return updatedDate; }
+
+    // Same result as String.matches("\\d+") (ASCII digits, at least one) without a regex.
+    protected static boolean allDigits(String value) {
+        int n = value.length();
+        if (n == 0) return false;
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
 }
 
 class TaxAuthority extends TaxEntity {
@@ -69,7 +80,7 @@ class Taxpayer extends TaxCategory {
 
     public Taxpayer(int id, LocalDate createdDate, LocalDate updatedDate, String authorityName, String region, String email, String categoryName, double rate, String code, String tin, String taxpayerName, String address) throws TaxDataException {
         super(id, createdDate, updatedDate, authorityName, region, email, categoryName, rate, code);
-        if (tin.length() != 9 || !tin.matches("\\d+")) throw new TaxDataException("TIN must be 9 digits");
+        if (tin.length() != 9 || !allDigits(tin)) throw new TaxDataException("TIN must be 9 digits");
         if (taxpayerName.isEmpty()) throw new TaxDataException("Name cannot be empty");
         this.tin = tin;
         this.taxpayerName = taxpayerName;
@@ -88,8 +99,8 @@ class Employer extends Taxpayer {
 
     public Employer(int id, LocalDate createdDate, LocalDate updatedDate, String authorityName, String region, String email, String categoryName, double rate, String code, String tin, String taxpayerName, String address, String employerName, String employerTIN, String contact) throws TaxDataException {
         super(id, createdDate, updatedDate, authorityName, region, email, categoryName, rate, code, tin, taxpayerName, address);
-        if (employerTIN.length() != 9 || !employerTIN.matches("\\d+")) throw new TaxDataException("Employer TIN must be 9 digits");
-        if (contact.length() != 10 || !contact.matches("\\d+")) throw new TaxDataException("Phone must be 10 digits");
+        if (employerTIN.length() != 9 || !allDigits(employerTIN)) throw new TaxDataException("Employer TIN must be 9 digits");
+        if (contact.length() != 10 || !allDigits(contact)) throw new TaxDataException("Phone must be 10 digits");
         this.employerName = employerName;
         this.employerTIN = employerTIN;
         this.contact = contact;
@@ -108,7 +119,7 @@ class Employee extends Employer {
     public Employee(int id, LocalDate createdDate, LocalDate updatedDate, String authorityName, String region, String email, String categoryName, double rate, String code, String tin, String taxpayerName, String address, String employerName, String employerTIN, String contact, String employeeName, double salary, String employeeTIN) throws TaxDataException {
         super(id, createdDate, updatedDate, authorityName, region, email, categoryName, rate, code, tin, taxpayerName, address, employerName, employerTIN, contact);
         if (salary <= 0) throw new TaxDataException("Salary must be > 0");
-        if (employeeTIN.length() != 9 || !employeeTIN.matches("\\d+")) throw new TaxDataException("Employee TIN must be 9 digits");
+        if (employeeTIN.length() != 9 || !allDigits(employeeTIN)) throw new TaxDataException("Employee TIN must be 9 digits");
         this.employeeName = employeeName;
         this.salary = salary;
         this.employeeTIN = employeeTIN;
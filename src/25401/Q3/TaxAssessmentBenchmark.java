@@ -0,0 +1,65 @@
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+// Assesses a synthetic filing season with TaxAssessmentEngine on pools of 1..N workers,
+// checks every result against the one-record formula and times the bulk write-back into
+// TaxAssessments.
+public class TaxAssessmentBenchmark {
+    public static void main(String[] args) throws TaxDataException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int cores = Runtime.getRuntime().availableProcessors();
+        String[] regions = {"Kigali", "Northern", "Southern", "Eastern", "Western"};
+
+        LocalDate now = LocalDate.now();
+        Random random = new Random(23);
+        List<TaxDeclaration> declarations = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String region = regions[random.nextInt(regions.length)];
+            double salary = 100_000 + random.nextInt(5_000_000);
+            declarations.add(new TaxDeclaration(i, now, now, "RRA " + region, region, "info@rra.gov.rw", "PAYE", 0.05 + random.nextInt(26) / 100.0, "PAYE",
+                    String.format("%09d", i % 1_000_000_000), "Taxpayer " + i, "Street " + i % 500, "Employer " + i % 1000, String.format("%09d", i % 1000), "0788000000",
+                    "Employee " + i, salary, String.format("%09d", (i * 7) % 1_000_000_000), "2026-03", salary * 12));
+        }
+
+        System.out.println("=== Batch Tax Assessment Benchmark ===");
+        System.out.println("Declarations: " + count + ", Regions: " + regions.length + ", Cores: " + cores + ", best of " + rounds);
+        AssessmentBatch batch = null;
+        double baseline = 0;
+        List<Integer> workerCounts = new ArrayList<>();
+        for (int workers = 1; workers < cores; workers *= 2) workerCounts.add(workers);
+        workerCounts.add(cores);
+        for (int workers : workerCounts) {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            TaxAssessmentEngine engine = new TaxAssessmentEngine(pool, 16_384);
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                batch = engine.assess(declarations);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            pool.shutdown();
+            double throughput = count / (best / 1e9);
+            if (workers == 1) baseline = throughput;
+            System.out.printf("Workers: %2d  %8.2f ms  %,12.0f declarations/sec  speedup %.2fx%n", workers, best / 1e6, throughput, throughput / baseline);
+        }
+
+        double grandTotal = 0;
+        for (int i = 0; i < count; i++) {
+            TaxDeclaration d = declarations.get(i);
+            double expected = Math.max(0, d.getSalary() * d.getRate() - 50000);
+            if (batch.getAssessedTax(i) != expected) throw new IllegalStateException("Mismatch for declaration " + d.getId());
+            grandTotal += expected;
+        }
+        double regionSum = 0;
+        for (String region : batch.getRegions()) regionSum += batch.getTotal(region);
+        if (Math.abs(regionSum - grandTotal) > 1e-6 * grandTotal) throw new IllegalStateException("Region totals do not add up");
+
+        long start = System.nanoTime();
+        List<TaxAssessment> assessments = batch.toAssessments(now);
+        long writeBack = System.nanoTime() - start;
+        for (String region : batch.getRegions()) System.out.printf("  %-9s %,9d declarations  $%,.2f%n", region, batch.getCount(region), batch.getTotal(region));
+        System.out.printf("Write-back to %d TaxAssessments: %.2f ms%n", assessments.size(), writeBack / 1e6);
+    }
+}
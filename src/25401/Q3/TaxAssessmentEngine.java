@@ -0,0 +1,168 @@
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Result of one batch run: assessedTax for every declaration (same order as the input) plus
+// per-region counts and totals.
+class AssessmentBatch {
+    private final List<? extends TaxDeclaration> declarations;
+    private final double[] assessedTax;
+    private final String[] regions;
+    private final int[] regionCounts;
+    private final double[] regionTotals;
+
+    AssessmentBatch(List<? extends TaxDeclaration> declarations, double[] assessedTax, String[] regions, int[] regionCounts, double[] regionTotals) {
+        this.declarations = declarations;
+        this.assessedTax = assessedTax;
+        this.regions = regions;
+        this.regionCounts = regionCounts;
+        this.regionTotals = regionTotals;
+    }
+
+    public int size() { return assessedTax.length; }
+    public double getAssessedTax(int index) { return assessedTax[index]; }
+    public double[] getAssessedTaxes() { return assessedTax.clone(); }
+    public List<String> getRegions() { return List.of(regions); }
+
+    public int getCount(String region) {
+        int r = Arrays.asList(regions).indexOf(region);
+        return r < 0 ? 0 : regionCounts[r];
+    }
+
+    public double getTotal(String region) {
+        int r = Arrays.asList(regions).indexOf(region);
+        return r < 0 ? 0 : regionTotals[r];
+    }
+
+    // Writes the results back as TaxAssessments, one per declaration, in input order.
+    public List<TaxAssessment> toAssessments(LocalDate assessmentDate) throws TaxDataException {
+        List<TaxAssessment> assessments = new ArrayList<>(assessedTax.length);
+        for (int i = 0; i < assessedTax.length; i++) {
+            TaxDeclaration d = declarations.get(i);
+            assessments.add(new TaxAssessment(d.getId(), d.getCreatedDate(), assessmentDate, d.getAuthorityName(), d.getRegion(), d.getEmail(), d.getCategoryName(), d.getRate(), d.getCode(), d.getTin(), d.getTaxpayerName(), d.getAddress(), d.getEmployerName(), d.getEmployerTIN(), d.getContact(), d.getEmployeeName(), d.getSalary(), d.getEmployeeTIN(), d.getDeclarationMonth(), d.getTotalIncome(), assessmentDate, assessedTax[i]));
+        }
+        return assessments;
+    }
+}
+
+// Assesses many TaxDeclarations at once on a fork-join pool. Declarations are grouped by
+// region with a counting sort and the pool splits the region-ordered range into leaves of
+// leafSize. Each leaf writes assessedTax for its own declarations straight into the result
+// column, so no two workers write the same slot. The tax is the one
+// TaxRecord.computeTax() applies (salary * rate less the standard credit), floored at zero
+// because TaxAssessment rejects negative assessedTax, unless TaxBracketTables holds a
+// progressive schedule for the declaration's category code; categories without one then use
+// the flat rate less the tables' default credit. Each batch uses one snapshot of the tables,
+// so a schedule swapped mid-run applies from the next batch.
+class TaxAssessmentEngine {
+    static final double STANDARD_CREDIT = 50000;
+
+    private final ForkJoinPool pool;
+    private final int leafSize;
+    private final TaxBracketTables schedules;
+
+    public TaxAssessmentEngine(ForkJoinPool pool, int leafSize) {
+        this(pool, leafSize, null);
+    }
+
+    public TaxAssessmentEngine(ForkJoinPool pool, int leafSize, TaxBracketTables schedules) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+        if (leafSize <= 0) throw new IllegalArgumentException("Leaf size must be > 0");
+        this.pool = pool;
+        this.leafSize = leafSize;
+        this.schedules = schedules;
+    }
+
+    public static double assess(double salary, double rate) {
+        return assess(salary, rate, STANDARD_CREDIT);
+    }
+
+    static double assess(double salary, double rate, double credit) {
+        return Math.max(0, salary * rate - credit);
+    }
+
+    public AssessmentBatch assess(List<? extends TaxDeclaration> declarations) {
+        int n = declarations.size();
+        Map<String, Integer> regionCodes = new LinkedHashMap<>();
+        int[] regionOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            String region = declarations.get(i).getRegion();
+            Integer code = regionCodes.get(region);
+            if (code == null) regionCodes.put(region, code = regionCodes.size());
+            regionOf[i] = code;
+        }
+        int regions = regionCodes.size();
+        int[] regionStart = new int[regions + 1];
+        for (int i = 0; i < n; i++) regionStart[regionOf[i] + 1]++;
+        for (int r = 0; r < regions; r++) regionStart[r + 1] += regionStart[r];
+        int[] order = new int[n];
+        int[] fill = Arrays.copyOf(regionStart, regions);
+        for (int i = 0; i < n; i++) order[fill[regionOf[i]]++] = i;
+
+        double[] assessedTax = new double[n];
+        double[] regionTotals = new double[regions];
+        Map<String, BracketTable> tables = schedules == null ? Map.of() : schedules.snapshot();
+        double credit = schedules == null ? STANDARD_CREDIT : schedules.getDefaultCredit();
+        pool.invoke(new AssessTask(declarations, tables, credit, order, regionOf, assessedTax, regionTotals, 0, n));
+        int[] regionCounts = new int[regions];
+        for (int r = 0; r < regions; r++) regionCounts[r] = regionStart[r + 1] - regionStart[r];
+        return new AssessmentBatch(declarations, assessedTax, regionCodes.keySet().toArray(new String[0]), regionCounts, regionTotals);
+    }
+
+    @SuppressWarnings("serial")
+    private final class AssessTask extends RecursiveAction {
+        private final List<? extends TaxDeclaration> declarations;
+        private final Map<String, BracketTable> tables;
+        private final double credit;
+        private final int[] order, regionOf;
+        private final double[] assessedTax, regionTotals;
+        private final int from, to;
+
+        AssessTask(List<? extends TaxDeclaration> declarations, Map<String, BracketTable> tables, double credit, int[] order, int[] regionOf, double[] assessedTax, double[] regionTotals, int from, int to) {
+            this.declarations = declarations;
+            this.tables = tables;
+            this.credit = credit;
+            this.order = order;
+            this.regionOf = regionOf;
+            this.assessedTax = assessedTax;
+            this.regionTotals = regionTotals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > leafSize) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new AssessTask(declarations, tables, credit, order, regionOf, assessedTax, regionTotals, from, mid),
+                          new AssessTask(declarations, tables, credit, order, regionOf, assessedTax, regionTotals, mid, to));
+                return;
+            }
+            if (from == to) return;
+            // A leaf covers one or a few runs of a single region; totals are merged once per run.
+            int region = regionOf[order[from]];
+            double total = 0;
+            for (int k = from; k < to; k++) {
+                int i = order[k];
+                if (regionOf[i] != region) {
+                    addTotal(region, total);
+                    region = regionOf[i];
+                    total = 0;
+                }
+                TaxDeclaration declaration = declarations.get(i);
+                BracketTable table = tables.isEmpty() ? null : tables.get(declaration.getCode());
+                double tax = table != null ? table.tax(declaration.getSalary()) : assess(declaration.getSalary(), declaration.getRate(), credit);
+                assessedTax[i] = tax;
+                total += tax;
+            }
+            addTotal(region, total);
+        }
+
+        private void addTotal(int region, double total) {
+            synchronized (regionTotals) {
+                regionTotals[region] += total;
+            }
+        }
+    }
+}
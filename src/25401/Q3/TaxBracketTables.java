@@ -0,0 +1,100 @@
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+// One category's progressive schedule compiled for lookup. Bracket i covers salaries from
+// lowerBounds[i] up to the next bound and is taxed at rates[i] at the margin. Cumulative tax
+// at each boundary and the credit are folded into a per-bracket intercept, so the tax on a
+// salary is one binary search plus intercept + salary * rate, floored at zero.
+final class BracketTable {
+    private final double[] lowerBounds;
+    private final double[] rates;
+    private final double[] intercepts;
+    private final double credit;
+
+    public BracketTable(double[] lowerBounds, double[] rates, double credit) throws TaxDataException {
+        if (lowerBounds.length == 0 || lowerBounds.length != rates.length) throw new TaxDataException("Schedule needs one rate per bracket");
+        if (lowerBounds[0] != 0) throw new TaxDataException("First bracket must start at 0");
+        if (credit < 0) throw new TaxDataException("Credit must be >= 0");
+        double[] intercepts = new double[lowerBounds.length];
+        double taxAtBound = 0;
+        for (int i = 0; i < lowerBounds.length; i++) {
+            if (!(rates[i] >= 0 && rates[i] <= 1)) throw new TaxDataException("Rate must be between 0 and 1");
+            if (i > 0) {
+                if (!(lowerBounds[i] > lowerBounds[i - 1])) throw new TaxDataException("Brackets must be in ascending order");
+                taxAtBound += (lowerBounds[i] - lowerBounds[i - 1]) * rates[i - 1];
+            }
+            intercepts[i] = taxAtBound - lowerBounds[i] * rates[i] - credit;
+        }
+        this.lowerBounds = lowerBounds.clone();
+        this.rates = rates.clone();
+        this.intercepts = intercepts;
+        this.credit = credit;
+    }
+
+    // The legacy rule: one flat TaxCategory.rate less the standard credit.
+    public static BracketTable flat(double rate, double credit) throws TaxDataException {
+        return new BracketTable(new double[] {0}, new double[] {rate}, credit);
+    }
+
+    public double tax(double salary) {
+        // Fixed-shape search: the loop runs log2(brackets) times whatever the salary, and the
+        // select compiles to a conditional move rather than a hard-to-predict branch.
+        double[] bounds = lowerBounds;
+        int base = 0, n = bounds.length;
+        while (n > 1) {
+            int half = n >>> 1;
+            base = bounds[base + half] <= salary ? base + half : base;
+            n -= half;
+        }
+        return Math.max(0, intercepts[base] + salary * rates[base]);
+    }
+
+    public int bracketCount() { return lowerBounds.length; }
+    public double getLowerBound(int bracket) { return lowerBounds[bracket]; }
+    public double getRate(int bracket) { return rates[bracket]; }
+    public double getCredit() { return credit; }
+}
+
+// Compiled BracketTables keyed by TaxCategory code. The whole set is an immutable map behind an
+// AtomicReference: defining or removing a schedule compiles it first and then swaps in a new
+// map, so readers never lock and a batch that takes one snapshot sees one consistent set of
+// schedules for all categories. Categories without a schedule keep the flat rate.
+class TaxBracketTables {
+    private final AtomicReference<Map<String, BracketTable>> tables = new AtomicReference<>(Map.of());
+    private final double defaultCredit;
+
+    public TaxBracketTables(double defaultCredit) {
+        this.defaultCredit = defaultCredit;
+    }
+
+    public void define(String categoryCode, double[] lowerBounds, double[] rates, double credit) throws TaxDataException {
+        if (categoryCode == null || categoryCode.length() < 3) throw new TaxDataException("Code must be >= 3 chars");
+        BracketTable table = new BracketTable(lowerBounds, rates, credit);
+        tables.updateAndGet(current -> {
+            Map<String, BracketTable> next = new HashMap<>(current);
+            next.put(categoryCode, table);
+            return Map.copyOf(next);
+        });
+    }
+
+    public boolean remove(String categoryCode) {
+        Map<String, BracketTable> before = tables.getAndUpdate(current -> {
+            if (!current.containsKey(categoryCode)) return current;
+            Map<String, BracketTable> next = new HashMap<>(current);
+            next.remove(categoryCode);
+            return Map.copyOf(next);
+        });
+        return before.containsKey(categoryCode);
+    }
+
+    public Map<String, BracketTable> snapshot() {
+        return tables.get();
+    }
+
+    public double getDefaultCredit() { return defaultCredit; }
+
+    public double tax(TaxCategory category, double salary) {
+        BracketTable table = snapshot().get(category.getCode());
+        return table != null ? table.tax(salary) : Math.max(0, salary * category.getRate() - defaultCredit);
+    }
+}
@@ -0,0 +1,197 @@
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.IntStream;
+
+// One imported row with every TaxRecord field, unvalidated.
+class TaxRecordRow {
+    private final int id;
+    private final LocalDate createdDate;
+    private final LocalDate updatedDate;
+    private final String authorityName;
+    private final String region;
+    private final String email;
+    private final String categoryName;
+    private final double rate;
+    private final String code;
+    private final String tin;
+    private final String taxpayerName;
+    private final String address;
+    private final String employerName;
+    private final String employerTIN;
+    private final String contact;
+    private final String employeeName;
+    private final double salary;
+    private final String employeeTIN;
+    private final String declarationMonth;
+    private final double totalIncome;
+    private final LocalDate assessmentDate;
+    private final double assessedTax;
+    private final LocalDate paymentDate;
+    private final double paymentAmount;
+    private final String receiptNo;
+    private final double totalTax;
+
+    public TaxRecordRow(int id, LocalDate createdDate, LocalDate updatedDate, String authorityName, String region, String email, String categoryName, double rate, String code, String tin, String taxpayerName, String address, String employerName, String employerTIN, String contact, String employeeName, double salary, String employeeTIN, String declarationMonth, double totalIncome, LocalDate assessmentDate, double assessedTax, LocalDate paymentDate, double paymentAmount, String receiptNo, double totalTax) {
+        this.id = id;
+        this.createdDate = createdDate;
+        this.updatedDate = updatedDate;
+        this.authorityName = authorityName;
+        this.region = region;
+        this.email = email;
+        this.categoryName = categoryName;
+        this.rate = rate;
+        this.code = code;
+        this.tin = tin;
+        this.taxpayerName = taxpayerName;
+        this.address = address;
+        this.employerName = employerName;
+        this.employerTIN = employerTIN;
+        this.contact = contact;
+        this.employeeName = employeeName;
+        this.salary = salary;
+        this.employeeTIN = employeeTIN;
+        this.declarationMonth = declarationMonth;
+        this.totalIncome = totalIncome;
+        this.assessmentDate = assessmentDate;
+        this.assessedTax = assessedTax;
+        this.paymentDate = paymentDate;
+        this.paymentAmount = paymentAmount;
+        this.receiptNo = receiptNo;
+        this.totalTax = totalTax;
+    }
+
+    public int getId() { return id; }
+    public String getEmail() { return email; }
+    public double getRate() { return rate; }
+    public String getCode() { return code; }
+    public String getTin() { return tin; }
+    public String getTaxpayerName() { return taxpayerName; }
+    public String getEmployerTIN() { return employerTIN; }
+    public String getContact() { return contact; }
+    public double getSalary() { return salary; }
+    public String getEmployeeTIN() { return employeeTIN; }
+    public double getTotalIncome() { return totalIncome; }
+    public double getAssessedTax() { return assessedTax; }
+    public double getPaymentAmount() { return paymentAmount; }
+
+    public TaxRecord toRecord() throws TaxDataException {
+        return new TaxRecord(id, createdDate, updatedDate, authorityName, region, email, categoryName, rate, code, tin, taxpayerName, address, employerName, employerTIN, contact, employeeName, salary, employeeTIN, declarationMonth, totalIncome, assessmentDate, assessedTax, paymentDate, paymentAmount, receiptNo, totalTax);
+    }
+}
+
+// Checks whole batches of rows against every rule the TaxEntity..TaxRecord constructors
+// enforce, without throwing: each row gets a bit mask of all the rules it breaks. Rules are
+// listed in the order the constructors check them, so a row's first violation carries the
+// message its constructor would have thrown. A null where a constructor dereferences the value
+// (email, code, TINs, name, contact) counts as breaking that rule.
+class TaxRecordValidator {
+    enum Rule {
+        ID("ID must be > 0"),
+        EMAIL("Invalid email"),
+        RATE("Rate must be > 0"),
+        CODE("Code must be >= 3 chars"),
+        TIN("TIN must be 9 digits"),
+        TAXPAYER_NAME("Name cannot be empty"),
+        EMPLOYER_TIN("Employer TIN must be 9 digits"),
+        CONTACT("Phone must be 10 digits"),
+        SALARY("Salary must be > 0"),
+        EMPLOYEE_TIN("Employee TIN must be 9 digits"),
+        TOTAL_INCOME("Income must be >= 0"),
+        ASSESSED_TAX("Tax must be >= 0"),
+        PAYMENT_AMOUNT("Payment amount must be > 0");
+
+        private final String message;
+
+        Rule(String message) { this.message = message; }
+
+        public String getMessage() { return message; }
+        int bit() { return 1 << ordinal(); }
+    }
+
+    private static final Rule[] RULES = Rule.values();
+
+    private TaxRecordValidator() { }
+
+    private static boolean digits(String value, int length) {
+        return value != null && value.length() == length && TaxEntity.allDigits(value);
+    }
+
+    // The comparisons are written exactly as in the constructors so NaN is treated the same.
+    public static int check(TaxRecordRow row) {
+        int violations = 0;
+        if (row.getId() <= 0) violations |= Rule.ID.bit();
+        if (row.getEmail() == null || !row.getEmail().contains("@")) violations |= Rule.EMAIL.bit();
+        if (row.getRate() <= 0) violations |= Rule.RATE.bit();
+        if (row.getCode() == null || row.getCode().length() < 3) violations |= Rule.CODE.bit();
+        if (!digits(row.getTin(), 9)) violations |= Rule.TIN.bit();
+        if (row.getTaxpayerName() == null || row.getTaxpayerName().isEmpty()) violations |= Rule.TAXPAYER_NAME.bit();
+        if (!digits(row.getEmployerTIN(), 9)) violations |= Rule.EMPLOYER_TIN.bit();
+        if (!digits(row.getContact(), 10)) violations |= Rule.CONTACT.bit();
+        if (row.getSalary() <= 0) violations |= Rule.SALARY.bit();
+        if (!digits(row.getEmployeeTIN(), 9)) violations |= Rule.EMPLOYEE_TIN.bit();
+        if (row.getTotalIncome() < 0) violations |= Rule.TOTAL_INCOME.bit();
+        if (row.getAssessedTax() < 0) violations |= Rule.ASSESSED_TAX.bit();
+        if (row.getPaymentAmount() <= 0) violations |= Rule.PAYMENT_AMOUNT.bit();
+        return violations;
+    }
+
+    public static ValidationReport validate(List<TaxRecordRow> rows) {
+        int[] violations = new int[rows.size()];
+        IntStream.range(0, violations.length).parallel().forEach(i -> violations[i] = check(rows.get(i)));
+        return new ValidationReport(rows, violations);
+    }
+
+    static List<Rule> decode(int violations) {
+        List<Rule> rules = new ArrayList<>(Integer.bitCount(violations));
+        for (Rule rule : RULES) if ((violations & rule.bit()) != 0) rules.add(rule);
+        return rules;
+    }
+}
+
+class ValidationReport {
+    private final List<TaxRecordRow> rows;
+    private final int[] violations;
+    private final int invalidRows;
+    private final int[] ruleCounts = new int[TaxRecordValidator.Rule.values().length];
+
+    ValidationReport(List<TaxRecordRow> rows, int[] violations) {
+        this.rows = rows;
+        this.violations = violations;
+        int invalid = 0;
+        for (int mask : violations) {
+            if (mask == 0) continue;
+            invalid++;
+            for (int bits = mask; bits != 0; bits &= bits - 1) ruleCounts[Integer.numberOfTrailingZeros(bits)]++;
+        }
+        this.invalidRows = invalid;
+    }
+
+    public int size() { return violations.length; }
+    public int getInvalidRows() { return invalidRows; }
+    public int getValidRows() { return violations.length - invalidRows; }
+    public boolean isValid(int row) { return violations[row] == 0; }
+    public List<TaxRecordValidator.Rule> getViolations(int row) { return TaxRecordValidator.decode(violations[row]); }
+    public int getCount(TaxRecordValidator.Rule rule) { return ruleCounts[rule.ordinal()]; }
+
+    // The message the row's constructor would have thrown, or null for a valid row.
+    public String getFirstMessage(int row) {
+        int mask = violations[row];
+        return mask == 0 ? null : TaxRecordValidator.Rule.values()[Integer.numberOfTrailingZeros(mask)].getMessage();
+    }
+
+    // Builds TaxRecords for the valid rows only; none of them can fail validation.
+    public List<TaxRecord> toRecords() throws TaxDataException {
+        List<TaxRecord> records = new ArrayList<>(getValidRows());
+        for (int i = 0; i < violations.length; i++) if (violations[i] == 0) records.add(rows.get(i).toRecord());
+        return records;
+    }
+
+    public String summary() {
+        StringBuilder text = new StringBuilder();
+        text.append("Rows: ").append(size()).append(", Valid: ").append(getValidRows()).append(", Invalid: ").append(invalidRows).append('\n');
+        for (TaxRecordValidator.Rule rule : TaxRecordValidator.Rule.values()) {
+            if (ruleCounts[rule.ordinal()] > 0) text.append("  ").append(rule.getMessage()).append(": ").append(ruleCounts[rule.ordinal()]).append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,111 @@
+import java.time.LocalDate;
+import java.util.*;
+
+// Validates an import batch with a share of bad rows two ways: constructing each TaxRecord and
+// catching the exception, and TaxRecordValidator over the whole batch. Checks both reject the
+// same rows with the same first message. The digit rules (TINs, phone) are also checked
+// against String.matches("\\d+"), the regex the constructors used to apply, on awkward
+// inputs and on every generated row.
+public class ValidationBenchmark {
+    public static void main(String[] args) throws TaxDataException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double badShare = args.length > 1 ? Double.parseDouble(args[1]) : 0.05;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        String[] samples = {"", "0", "123456789", "12345678a", " 23456789", "١٢٣٤٥٦٧٨٩", "１２３", "-12345678", "+12345678", "12345678\n", "9999999999"};
+        for (String sample : samples) {
+            if (TaxEntity.allDigits(sample) != sample.matches("\\d+")) throw new IllegalStateException("Digit check disagrees on '" + sample + "'");
+        }
+
+        LocalDate now = LocalDate.now();
+        Random random = new Random(25);
+        List<TaxRecordRow> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int id = i;
+            String email = "info@rra.gov.rw", code = "PAYE", tin = String.format("%09d", i % 1_000_000_000), name = "Taxpayer " + i;
+            String employerTIN = "123456789", contact = "0788123456", employeeTIN = "987654321";
+            double rate = 0.3, salary = 500_000, income = 6_000_000, assessed = 100_000, payment = 100_000;
+            if (random.nextDouble() < badShare) {
+                int faults = 1 + random.nextInt(3);
+                for (int f = 0; f < faults; f++) {
+                    switch (random.nextInt(15)) {
+                        case 0: id = -i; break;
+                        case 1: email = "info.rra.gov.rw"; break;
+                        case 2: rate = 0; break;
+                        case 3: code = "PA"; break;
+                        case 4: tin = "12345A789"; break;
+                        case 5: name = ""; break;
+                        case 6: employerTIN = "12345678"; break;
+                        case 7: contact = "078812345x"; break;
+                        case 8: salary = -1; break;
+                        case 9: employeeTIN = "١٢٣٤٥٦٧٨٩"; break;
+                        case 10: income = -5; break;
+                        case 11: assessed = -1; break;
+                        case 12: payment = 0; break;
+                        case 13: rate = Double.NaN; break;
+                        default: tin = null;
+                    }
+                }
+            }
+            rows.add(new TaxRecordRow(id, now, now, "RRA", "Kigali", email, "PAYE", rate, code, tin, name, "Street " + i % 500, "Employer", employerTIN, contact,
+                    "Employee " + i, salary, employeeTIN, "2026-03", income, now, assessed, now, payment, "R" + i, assessed));
+        }
+
+        String[] thrown = new String[count];
+        boolean[] rejected = new boolean[count];
+        long constructorNanos = Long.MAX_VALUE, validatorNanos = Long.MAX_VALUE;
+        ValidationReport report = null;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                try {
+                    rows.get(i).toRecord();
+                    rejected[i] = false;
+                } catch (TaxDataException e) {
+                    rejected[i] = true;
+                    thrown[i] = e.getMessage();
+                } catch (NullPointerException e) {
+                    rejected[i] = true;
+                    thrown[i] = null;
+                }
+            }
+            constructorNanos = Math.min(constructorNanos, System.nanoTime() - start);
+            start = System.nanoTime();
+            report = TaxRecordValidator.validate(rows);
+            validatorNanos = Math.min(validatorNanos, System.nanoTime() - start);
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (rejected[i] == report.isValid(i)) throw new IllegalStateException("Row " + i + " constructor rejected=" + rejected[i] + " but validator says " + report.getViolations(i));
+            if (rejected[i] && thrown[i] != null && !thrown[i].equals(report.getFirstMessage(i)))
+                throw new IllegalStateException("Row " + i + " threw '" + thrown[i] + "' but validator reported '" + report.getFirstMessage(i) + "'");
+        }
+        for (int i = 0; i < count; i++) {
+            TaxRecordRow row = rows.get(i);
+            List<TaxRecordValidator.Rule> violations = report.getViolations(i);
+            checkDigits(i, TaxRecordValidator.Rule.TIN, row.getTin(), 9, violations);
+            checkDigits(i, TaxRecordValidator.Rule.EMPLOYER_TIN, row.getEmployerTIN(), 9, violations);
+            checkDigits(i, TaxRecordValidator.Rule.CONTACT, row.getContact(), 10, violations);
+            checkDigits(i, TaxRecordValidator.Rule.EMPLOYEE_TIN, row.getEmployeeTIN(), 9, violations);
+        }
+        int multiple = 0;
+        for (int i = 0; i < count; i++) if (report.getViolations(i).size() > 1) multiple++;
+        long start = System.nanoTime();
+        int records = report.toRecords().size();
+        long buildNanos = System.nanoTime() - start;
+
+        System.out.println("=== Bulk Validation Benchmark ===");
+        System.out.println("Rows: " + count + ", Bad share: " + badShare + ", best of " + rounds);
+        System.out.printf("Construct and catch: %.2f ms (%.0f ns/row)%n", constructorNanos / 1e6, (double) constructorNanos / count);
+        System.out.printf("Batch validator:     %.2f ms (%.0f ns/row)%n", validatorNanos / 1e6, (double) validatorNanos / count);
+        System.out.print(report.summary());
+        System.out.println("Rows with several violations: " + multiple + ", same rows rejected with same first message: true, digit rules match regex: true");
+        System.out.printf("Built %d TaxRecords from valid rows in %.2f ms%n", records, buildNanos / 1e6);
+    }
+
+    private static void checkDigits(int row, TaxRecordValidator.Rule rule, String value, int length, List<TaxRecordValidator.Rule> violations) {
+        boolean expected = value == null || value.length() != length || !value.matches("\\d+");
+        if (expected != violations.contains(rule))
+            throw new IllegalStateException("Row " + row + " " + rule + " '" + value + "': regex says " + (expected ? "invalid" : "valid") + ", validator reported " + violations);
+    }
+}